@@ -0,0 +1,147 @@
+/*
+ * Copyright 2000-2019 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.component.datepicker;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.datepicker.DatePicker.DatePickerI18n;
+
+/**
+ * Benchmarks for the server side hot paths of {@link DatePicker}.
+ * <p>
+ * The date pickers are used with a UI instance that has no session, the same
+ * way as in the unit tests. Run through {@link BenchmarkRunner} to also get
+ * the allocation rate of each benchmark.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DatePickerBenchmark {
+
+    private static final LocalDate MIN = LocalDate.of(2000, 1, 1);
+    private static final LocalDate MAX = LocalDate.of(2030, 12, 31);
+
+    private UI ui;
+    private DatePicker detachedPicker;
+    private DatePicker attachedPicker;
+    private DatePickerI18n i18n;
+
+    private LocalDate[] values;
+    private String[] valueStrings;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        ui = new UI();
+        UI.setCurrent(ui);
+
+        detachedPicker = new DatePicker();
+        detachedPicker.setMin(MIN);
+        detachedPicker.setMax(MAX);
+
+        attachedPicker = new DatePicker();
+        ui.add(attachedPicker);
+        flush();
+
+        i18n = BenchmarkI18n.createFinnish();
+
+        values = new LocalDate[64];
+        valueStrings = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            // Every fourth value is outside of the allowed range
+            values[i] = i % 4 == 0 ? MAX.plusDays(i) : MIN.plusDays(i * 97);
+            valueStrings[i] = values[i].toString();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        UI.setCurrent(null);
+    }
+
+    @Benchmark
+    public DatePicker construct() {
+        return new DatePicker();
+    }
+
+    @Benchmark
+    public boolean setValueWithValidation() {
+        detachedPicker.setValue(values[next()]);
+        return detachedPicker.isInvalid();
+    }
+
+    @Benchmark
+    public LocalDate parse() {
+        return DatePicker.PARSER.apply(valueStrings[next()]);
+    }
+
+    @Benchmark
+    public String format() {
+        return DatePicker.FORMATTER.apply(values[next()]);
+    }
+
+    @Benchmark
+    public Locale setLocale() {
+        detachedPicker.setLocale(next() % 2 == 0 ? Locale.FRANCE : Locale.US);
+        return detachedPicker.getLocale();
+    }
+
+    @Benchmark
+    public void setI18n() {
+        // Changing the content invalidates the cached JSON form
+        i18n.setToday(next() % 2 == 0 ? "tänään" : "nyt");
+        attachedPicker.setI18n(i18n);
+        flush();
+    }
+
+    @Benchmark
+    public void attachDetach() {
+        ui.add(detachedPicker);
+        flush();
+        ui.remove(detachedPicker);
+        flush();
+    }
+
+    private int next() {
+        index = (index + 1) % values.length;
+        return index;
+    }
+
+    private void flush() {
+        ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
+        ui.getInternals().dumpPendingJavaScriptInvocations();
+        ui.getInternals().getStateTree().collectChanges(change -> {
+        });
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2000-2019 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.component.datepicker;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.flow.component.UI;
+
+/**
+ * Compares loading and reading date picker values stored as epoch days
+ * through the {@link LocalDate} and the epoch day based methods.
+ * <p>
+ * The {@code changed} parameter tells whether every load changes the values
+ * or reloads the values the date pickers already have.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EpochDayBenchmark {
+
+    private static final int SIZE = 1000;
+
+    @Param({ "true", "false" })
+    private boolean changed;
+
+    private DatePicker[] pickers;
+    private int[] epochDays;
+    private int offset;
+
+    @Setup
+    public void setUp() {
+        UI.setCurrent(new UI());
+        pickers = new DatePicker[SIZE];
+        epochDays = new int[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            pickers[i] = new DatePicker();
+            epochDays[i] = (int) LocalDate.of(2000, 1, 1).toEpochDay() + i;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        UI.setCurrent(null);
+    }
+
+    @Benchmark
+    public long localDate() {
+        int shift = nextShift();
+        long sum = 0;
+        for (int i = 0; i < SIZE; i++) {
+            pickers[i].setValue(LocalDate.ofEpochDay(epochDays[i] + shift));
+            sum += pickers[i].getValue().toEpochDay();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long epochDay() {
+        int shift = nextShift();
+        long sum = 0;
+        for (int i = 0; i < SIZE; i++) {
+            pickers[i].setValueEpochDay(epochDays[i] + shift);
+            sum += pickers[i].getValueEpochDay();
+        }
+        return sum;
+    }
+
+    private int nextShift() {
+        if (changed) {
+            offset = (offset + 1) % 2;
+        }
+        return offset;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2000-2019 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.component.datepicker;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the {@link LocalDate} based parsing and formatting of the
+ * {@code yyyy-MM-dd} value format with {@link IsoDateCodec}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IsoDateCodecBenchmark {
+
+    private LocalDate[] dates;
+    private String[] strings;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        dates = new LocalDate[64];
+        strings = new String[dates.length];
+        for (int i = 0; i < dates.length; i++) {
+            dates[i] = LocalDate.of(1950, 1, 1).plusDays(i * 1013);
+            strings[i] = dates[i].toString();
+        }
+    }
+
+    @Benchmark
+    public LocalDate parseLocalDate() {
+        return LocalDate.parse(strings[next()]);
+    }
+
+    @Benchmark
+    public LocalDate parseCodec() {
+        return IsoDateCodec.parse(strings[next()]);
+    }
+
+    @Benchmark
+    public long parseCodecEpochDay() {
+        return IsoDateCodec.parseEpochDay(strings[next()]);
+    }
+
+    @Benchmark
+    public String formatLocalDate() {
+        return dates[next()].toString();
+    }
+
+    @Benchmark
+    public String formatCodec() {
+        return IsoDateCodec.format(dates[next()]);
+    }
+
+    private int next() {
+        index = (index + 1) % dates.length;
+        return index;
+    }
+}
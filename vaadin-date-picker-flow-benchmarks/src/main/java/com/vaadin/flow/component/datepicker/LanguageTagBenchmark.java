@@ -0,0 +1,68 @@
+/*
+ * Copyright 2000-2019 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.component.datepicker;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the cached and uncached resolution of client side language tags
+ * when many threads, i.e. sessions, create date pickers at the same time.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class LanguageTagBenchmark {
+
+    private static final Locale[] LOCALES = { Locale.US, Locale.UK,
+            Locale.FRANCE, Locale.GERMANY, new Locale("fi", "FI"),
+            new Locale("en", "US", "WIN") };
+
+    @State(Scope.Thread)
+    public static class Index {
+        private int next;
+
+        Locale nextLocale() {
+            next = (next + 1) % LOCALES.length;
+            return LOCALES[next];
+        }
+    }
+
+    @Benchmark
+    public String uncached(Index index) {
+        return DatePicker.createLanguageTag(index.nextLocale());
+    }
+
+    @Benchmark
+    public String cached(Index index) {
+        return DatePicker.toLanguageTag(index.nextLocale());
+    }
+}
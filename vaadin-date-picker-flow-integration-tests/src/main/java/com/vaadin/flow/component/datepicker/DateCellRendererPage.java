@@ -0,0 +1,79 @@
+/*
+ * Copyright 2000-2019 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.component.datepicker;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.grid.Grid.Column;
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.component.html.NativeButton;
+import com.vaadin.flow.data.binder.Binder;
+import com.vaadin.flow.router.Route;
+
+@Route("date-cell-renderer")
+public class DateCellRendererPage extends Div {
+
+    public static class Booking {
+        private LocalDate date;
+
+        public Booking(LocalDate date) {
+            this.date = date;
+        }
+
+        public LocalDate getDate() {
+            return date;
+        }
+
+        public void setDate(LocalDate date) {
+            this.date = date;
+        }
+    }
+
+    public DateCellRendererPage() {
+        Grid<Booking> grid = new Grid<>();
+        grid.setId("grid");
+        List<Booking> bookings = IntStream.range(0, 1000)
+                .mapToObj(i -> new Booking(
+                        LocalDate.of(2018, 4, 25).plusDays(i)))
+                .collect(Collectors.toList());
+        grid.setItems(bookings);
+
+        Column<Booking> dateColumn = grid.addColumn(
+                new DateCellRenderer<>(Booking::getDate, Locale.FRANCE))
+                .setHeader("Date");
+
+        // A single date picker is used as the editor of every row
+        DatePicker editor = new DatePicker();
+        editor.setLocale(Locale.FRANCE);
+        editor.setId("editor");
+        Binder<Booking> binder = new Binder<>(Booking.class);
+        binder.bind(editor, Booking::getDate, Booking::setDate);
+        grid.getEditor().setBinder(binder);
+        dateColumn.setEditorComponent(editor);
+
+        NativeButton edit = new NativeButton("Edit first row",
+                event -> grid.getEditor().editItem(bookings.get(0)));
+        edit.setId("edit");
+
+        add(grid, edit);
+    }
+
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2000-2019 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.component.datepicker;
+
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.data.value.ValueChangeMode;
+import com.vaadin.flow.router.Route;
+
+@Route("value-change-mode")
+public class ValueChangeModePage extends Div {
+
+    public ValueChangeModePage() {
+        DatePicker datePicker = new DatePicker();
+        datePicker.setValueChangeMode(ValueChangeMode.ON_BLUR);
+        datePicker.setId("on-blur-picker");
+
+        Div value = new Div();
+        value.setId("value");
+        datePicker.addValueChangeListener(
+                e -> value.setText(String.valueOf(e.getValue())));
+
+        add(datePicker, value);
+    }
+
+}
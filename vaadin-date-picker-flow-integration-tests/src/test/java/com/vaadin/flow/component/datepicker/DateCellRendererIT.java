@@ -0,0 +1,50 @@
+/*
+ * Copyright 2000-2019 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.component.datepicker;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.By;
+
+import com.vaadin.flow.component.datepicker.testbench.DatePickerElement;
+import com.vaadin.flow.testutil.AbstractComponentIT;
+import com.vaadin.flow.testutil.TestPath;
+import com.vaadin.testbench.TestBenchElement;
+
+@TestPath("date-cell-renderer")
+public class DateCellRendererIT extends AbstractComponentIT {
+
+    @Before
+    public void init() {
+        open();
+        waitForElementPresent(By.tagName("flow-date-picker-text"));
+    }
+
+    @Test
+    public void cellsAreFormattedWithLocale() {
+        TestBenchElement cell = $("flow-date-picker-text").first();
+        Assert.assertEquals("25/04/2018", cell.getText());
+        checkLogsForErrors();
+    }
+
+    @Test
+    public void editRow_sharedDatePickerShowsRowValue() {
+        findElement(By.id("edit")).click();
+        DatePickerElement editor = $(DatePickerElement.class).id("editor");
+        Assert.assertEquals("2018-04-25", editor.getPropertyString("value"));
+    }
+}
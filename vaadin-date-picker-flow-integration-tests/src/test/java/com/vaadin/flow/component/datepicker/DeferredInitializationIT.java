@@ -0,0 +1,74 @@
+/*
+ * Copyright 2000-2019 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.component.datepicker;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Keys;
+
+import com.vaadin.flow.component.datepicker.testbench.DatePickerElement;
+import com.vaadin.flow.testutil.AbstractComponentIT;
+import com.vaadin.flow.testutil.TestPath;
+import com.vaadin.testbench.TestBenchElement;
+
+@TestPath("deferred-initialization")
+public class DeferredInitializationIT extends AbstractComponentIT {
+
+    private DatePickerElement datePicker;
+
+    @Before
+    public void init() {
+        open();
+        datePicker = $(DatePickerElement.class).id("deferred-picker");
+    }
+
+    @Test
+    public void valueIsFormattedBeforeInitialization() {
+        Assert.assertTrue("Connector should not be initialized before focus",
+                isDeferred());
+        Assert.assertEquals("13/06/1993", getInputValue());
+    }
+
+    @Test
+    public void focus_connectorIsInitialized_inputIsParsedWithLocale() {
+        TestBenchElement input = datePicker.$(TestBenchElement.class)
+                .id("input");
+        input.click();
+
+        Assert.assertFalse("Connector should be initialized on focus",
+                isDeferred());
+        Assert.assertEquals("13/06/1993", getInputValue());
+        Assert.assertEquals("peruuta", executeScript(
+                "return arguments[0].i18n.cancel", datePicker));
+
+        executeScript("arguments[0].value = ''", input);
+        input.sendKeys("24/12/2019", Keys.ENTER);
+        Assert.assertEquals("2019-12-24",
+                findElement(By.id("value")).getText());
+    }
+
+    private boolean isDeferred() {
+        return (Boolean) executeScript(
+                "return !!arguments[0].$connector.deferred", datePicker);
+    }
+
+    private String getInputValue() {
+        return datePicker.$("vaadin-date-picker-text-field").first()
+                .getPropertyString("value");
+    }
+}
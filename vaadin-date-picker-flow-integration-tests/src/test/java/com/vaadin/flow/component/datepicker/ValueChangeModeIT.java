@@ -0,0 +1,52 @@
+/*
+ * Copyright 2000-2019 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.component.datepicker;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Keys;
+
+import com.vaadin.flow.component.datepicker.testbench.DatePickerElement;
+import com.vaadin.flow.testutil.AbstractComponentIT;
+import com.vaadin.flow.testutil.TestPath;
+import com.vaadin.testbench.TestBenchElement;
+
+@TestPath("value-change-mode")
+public class ValueChangeModeIT extends AbstractComponentIT {
+
+    private DatePickerElement datePicker;
+
+    @Before
+    public void init() {
+        open();
+        datePicker = $(DatePickerElement.class).id("on-blur-picker");
+    }
+
+    @Test
+    public void onBlurMode_valueIsSynchronizedOnlyOnBlur() {
+        TestBenchElement input = datePicker.$(TestBenchElement.class)
+                .id("input");
+        input.sendKeys("1/1/2019", Keys.ENTER);
+        input.sendKeys(Keys.chord(Keys.CONTROL, "a"), "2/2/2019", Keys.ENTER);
+        Assert.assertEquals("", findElement(By.id("value")).getText());
+
+        executeScript("arguments[0].blur()", input);
+        Assert.assertEquals("2019-02-02",
+                findElement(By.id("value")).getText());
+    }
+}
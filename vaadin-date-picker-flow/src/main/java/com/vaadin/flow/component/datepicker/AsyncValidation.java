@@ -0,0 +1,197 @@
+/*
+ * Copyright 2000-2019 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.component.datepicker;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
+import com.vaadin.flow.data.binder.ValidationResult;
+import com.vaadin.flow.function.SerializableFunction;
+
+/**
+ * Runs the asynchronous validator of a date picker and applies the result of
+ * the latest check to the date picker.
+ *
+ * @author Vaadin Ltd
+ */
+final class AsyncValidation implements Serializable {
+
+    private final DatePicker datePicker;
+    private final SerializableFunction<LocalDate, CompletableFuture<ValidationResult>> validator;
+    private String failureMessage = "";
+    private Duration timeout;
+    // Owned by the application, not serializable
+    private transient ScheduledExecutorService timeoutScheduler;
+
+    // The future of the latest check, the result of any other check is ignored
+    private transient CompletableFuture<ValidationResult> pending;
+    private transient CompletableFuture<ValidationResult> pendingSource;
+    // Whether the value hasn't been checked, because it was set while
+    // detached or its check was cancelled by a detach
+    private boolean checkOnAttach = true;
+
+    /**
+     * Creates asynchronous validation for the given date picker.
+     *
+     * @param datePicker
+     *            the date picker to validate
+     * @param validator
+     *            the validator starting a check for a value, not
+     *            <code>null</code>
+     */
+    AsyncValidation(DatePicker datePicker,
+            SerializableFunction<LocalDate, CompletableFuture<ValidationResult>> validator) {
+        this.datePicker = datePicker;
+        this.validator = Objects.requireNonNull(validator);
+    }
+
+    SerializableFunction<LocalDate, CompletableFuture<ValidationResult>> getValidator() {
+        return validator;
+    }
+
+    void setTimeout(Duration timeout, ScheduledExecutorService scheduler) {
+        this.timeout = timeout;
+        timeoutScheduler = scheduler;
+    }
+
+    void setFailureMessage(String failureMessage) {
+        this.failureMessage = failureMessage == null ? "" : failureMessage;
+    }
+
+    /**
+     * Cancels the pending check, if any, and starts a new check for the given
+     * value. The check is not started if the value is <code>null</code> or
+     * the date picker is not attached.
+     *
+     * @param value
+     *            the value to check, or <code>null</code> to only cancel the
+     *            pending check
+     */
+    void validate(LocalDate value) {
+        cancel();
+        UI ui = datePicker.getUI().orElse(null);
+        checkOnAttach = value != null && ui == null;
+        if (value == null || ui == null) {
+            return;
+        }
+
+        CompletableFuture<ValidationResult> source = Objects.requireNonNull(
+                validator.apply(value),
+                "The asynchronous validator must not return null");
+        CompletableFuture<ValidationResult> check = new CompletableFuture<>();
+        source.whenComplete((result, error) -> {
+            if (error != null) {
+                check.completeExceptionally(error);
+            } else {
+                check.complete(result);
+            }
+        });
+        ScheduledFuture<?> timeoutTask = timeout == null
+                || timeoutScheduler == null ? null
+                        : timeoutScheduler.schedule(() -> {
+                            check.completeExceptionally(new TimeoutException());
+                            // Release the backend work of the late check
+                            source.cancel(true);
+                        }, timeout.toMillis(), TimeUnit.MILLISECONDS);
+
+        pending = check;
+        pendingSource = source;
+        check.whenComplete((result, error) -> {
+            if (timeoutTask != null) {
+                timeoutTask.cancel(false);
+            }
+            if (error instanceof CancellationException) {
+                return;
+            }
+            try {
+                ui.access(() -> apply(check, result, error));
+            } catch (UIDetachedException e) {
+                // Nothing to update anymore
+            }
+        });
+    }
+
+    /**
+     * Checks the given value when the date picker is attached, if it hasn't
+     * been checked yet. A value that was checked before the date picker was
+     * detached isn't checked again.
+     *
+     * @param value
+     *            the current value, or <code>null</code> if it doesn't need
+     *            to be checked
+     */
+    void attach(LocalDate value) {
+        if (checkOnAttach) {
+            validate(value);
+        }
+    }
+
+    /**
+     * Cancels the pending check when the date picker is detached. The value
+     * of a cancelled check is checked again on attach.
+     */
+    void detach() {
+        if (pending != null) {
+            cancel();
+            checkOnAttach = true;
+        }
+    }
+
+    /**
+     * Cancels the pending check, if any.
+     */
+    void cancel() {
+        if (pending != null) {
+            CompletableFuture<ValidationResult> source = pendingSource;
+            pending.cancel(false);
+            source.cancel(true);
+            pending = null;
+            pendingSource = null;
+        }
+    }
+
+    private void apply(CompletableFuture<ValidationResult> check,
+            ValidationResult result, Throwable error) {
+        if (check != pending) {
+            // Superseded by a later check
+            return;
+        }
+        pending = null;
+        pendingSource = null;
+        if (error != null || result == null) {
+            // A failed or timed out check doesn't make the value valid
+            datePicker.setErrorMessage(failureMessage);
+            datePicker.setInvalid(true);
+        } else if (result.isError()) {
+            datePicker.setErrorMessage(result.getErrorMessage());
+            datePicker.setInvalid(true);
+        } else {
+            // Clear the message of an earlier failed check
+            datePicker.setErrorMessage(null);
+            datePicker.setInvalid(false);
+        }
+    }
+}
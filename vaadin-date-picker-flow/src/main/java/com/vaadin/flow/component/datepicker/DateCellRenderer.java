@@ -0,0 +1,71 @@
+/*
+ * Copyright 2000-2019 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.component.datepicker;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.vaadin.flow.component.dependency.JsModule;
+import com.vaadin.flow.data.renderer.Renderer;
+import com.vaadin.flow.function.ValueProvider;
+
+/**
+ * Renderer for showing dates in components like Grid, formatted in the
+ * browser with the same locale rules as the value of a {@link DatePicker}.
+ * <p>
+ * Only the {@code yyyy-MM-dd} form of the date is sent for each item, and the
+ * cells are rendered with a lightweight element instead of a component per
+ * item. For editing, use a single {@link DatePicker} as the editor component
+ * of the column, e.g. with {@code Column.setEditorComponent}, so that the
+ * same instance is used for whichever row is being edited.
+ *
+ * @param <SOURCE>
+ *            the type of the items rendered
+ * @author Vaadin Ltd
+ */
+@JsModule("./datepickerConnector.js")
+public class DateCellRenderer<SOURCE> extends Renderer<SOURCE> {
+
+    private static final AtomicLong PROPERTY_COUNTER = new AtomicLong();
+
+    /**
+     * Creates a new renderer for the dates provided by the given value
+     * provider, formatted with the given locale.
+     *
+     * @param valueProvider
+     *            the provider of the date of an item, not <code>null</code>
+     * @param locale
+     *            the locale to format the dates with, not <code>null</code>
+     */
+    public DateCellRenderer(ValueProvider<SOURCE, LocalDate> valueProvider,
+            Locale locale) {
+        Objects.requireNonNull(valueProvider,
+                "The value provider must not be null");
+        Objects.requireNonNull(locale, "Locale must not be null.");
+
+        // Several renderers may be used in the same component, so the item
+        // property must be unique
+        String property = "date" + PROPERTY_COUNTER.incrementAndGet();
+        setTemplate("<flow-date-picker-text locale=\"" + DatePicker
+                .toLanguageTag(locale).replace("\"", "")
+                + "\" value=\"[[item." + property
+                + "]]\"></flow-date-picker-text>");
+        setProperty(property, item -> DatePicker.FORMATTER
+                .apply(valueProvider.apply(item)));
+    }
+}
@@ -15,24 +15,44 @@
  */
 package com.vaadin.flow.component.datepicker;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.time.DateTimeException;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
 
 import com.vaadin.flow.component.AttachEvent;
 import com.vaadin.flow.component.ComponentEventListener;
+import com.vaadin.flow.component.DetachEvent;
 import com.vaadin.flow.component.HasSize;
 import com.vaadin.flow.component.HasValidation;
 import com.vaadin.flow.component.HasValue;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.dependency.JsModule;
+import com.vaadin.flow.data.binder.ValidationResult;
+import com.vaadin.flow.data.value.HasValueChangeMode;
+import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.function.SerializableConsumer;
 import com.vaadin.flow.function.SerializableFunction;
+import com.vaadin.flow.function.SerializablePredicate;
 import com.vaadin.flow.internal.JsonSerializer;
 import com.vaadin.flow.shared.Registration;
 
+import elemental.json.Json;
 import elemental.json.JsonObject;
 
 /**
@@ -46,24 +66,81 @@ import elemental.json.JsonObject;
  */
 @JsModule("./datepickerConnector.js")
 public class DatePicker extends GeneratedVaadinDatePicker<DatePicker, LocalDate>
-        implements HasSize, HasValidation {
+        implements HasSize, HasValidation, HasValueChangeMode {
 
-    private DatePickerI18n i18n;
+    /**
+     * The epoch day used for an empty value, minimum or maximum in the epoch
+     * day based methods, such as {@link #getValueEpochDay()}. It is outside of
+     * the range of dates supported by {@link LocalDate}.
+     */
+    public static final long EMPTY_EPOCH_DAY = Long.MIN_VALUE;
 
-    private final static SerializableFunction<String, LocalDate> PARSER = s -> {
-        return s == null || s.isEmpty() ? null : LocalDate.parse(s);
+    private DatePickerI18n i18n;
+    // Set instead of i18n when the properties are shared, see setI18n
+    private ImmutableDatePickerI18n immutableI18n;
+
+    // The fixed format codec handles the common case, LocalDate is used for
+    // the extended year formats and for reporting invalid values
+    final static SerializableFunction<String, LocalDate> PARSER = s -> {
+        if (s == null || s.isEmpty()) {
+            return null;
+        }
+        LocalDate date = IsoDateCodec.parse(s);
+        return date != null ? date : LocalDate.parse(s);
     };
 
-    private final static SerializableFunction<LocalDate, String> FORMATTER = d -> {
-        return d == null ? "" : d.toString();
+    final static SerializableFunction<LocalDate, String> FORMATTER = d -> {
+        if (d == null) {
+            return "";
+        }
+        String formatted = IsoDateCodec.format(d);
+        return formatted != null ? formatted : d.toString();
     };
 
+    // The maximum number of locales whose derived data is cached JVM-wide.
+    // Applications use a limited set of locales, the bound only guards
+    // against unexpected growth.
+    static final int LOCALE_CACHE_SIZE = 256;
+    private static final Map<Locale, String> LANGUAGE_TAGS = new ConcurrentHashMap<>();
+
+    // The locale and the dates are usually shared by many date pickers, e.g.
+    // through a DatePickerConfiguration, in which case the serialized session
+    // only refers back to the instance written first
     private Locale locale;
-    private String languageTag;
+    private transient String languageTag;
 
     private LocalDate max;
     private LocalDate min;
     private boolean required;
+    private ValueChangeMode currentMode = ValueChangeMode.EAGER;
+    private int valueChangeTimeout = DEFAULT_CHANGE_TIMEOUT;
+    private boolean deferredInitialization;
+
+    // The months before and after the shown month that are sent in advance
+    private static final int PREFETCHED_MONTHS = 1;
+
+    private DisabledDateIndex disabledDateIndex;
+    private AsyncValidation asyncValidation;
+    private Duration asyncValidationTimeout;
+    private transient ScheduledExecutorService asyncValidationScheduler;
+    private String asyncValidationFailureMessage = "";
+    private DayMetadataCache dayMetadataCache;
+    private Registration openedRegistration;
+    private Registration openedSynchronization;
+    // The month scrolled to in the popup, null until the user scrolls
+    private YearMonth visibleMonth;
+
+    // The locale and i18n last sent to the client while attached
+    private String clientLanguageTag;
+    private String clientI18nJson;
+    private String clientI18nId;
+
+    // The months whose disabled date ranges the client has while attached
+    private final Set<YearMonth> clientDisabledMonths = new HashSet<>();
+    private boolean clientDisabledRangesStale;
+    // The months whose day metadata the client has while attached
+    private final Set<YearMonth> clientMetadataMonths = new HashSet<>();
+    private boolean clientMetadataStale;
 
     /**
      * Default constructor.
@@ -104,14 +181,16 @@ public class DatePicker extends GeneratedVaadinDatePicker<DatePicker, LocalDate>
     private DatePicker(LocalDate initialDate, boolean isInitialValueOptional) {
         super(initialDate, null, String.class, PARSER, FORMATTER,
                 isInitialValueOptional);
-        setLocale(UI.getCurrent().getLocale());
+
+        // The typed min and max are the source of truth from here on, the
+        // properties only need to be read when wrapping an existing element
+        min = PARSER.apply(getMinAsStringString());
+        max = PARSER.apply(getMaxAsStringString());
 
         // workaround for https://github.com/vaadin/flow/issues/3496
         setInvalid(false);
 
         addValueChangeListener(e -> validate());
-
-        FieldValidationUtil.disableClientValidation(this);
     }
 
     /**
@@ -247,7 +326,7 @@ public class DatePicker extends GeneratedVaadinDatePicker<DatePicker, LocalDate>
      *         <code>null</code> if there's no minimum
      */
     public LocalDate getMin() {
-        return PARSER.apply(getMinAsStringString());
+        return min;
     }
 
     /**
@@ -271,7 +350,109 @@ public class DatePicker extends GeneratedVaadinDatePicker<DatePicker, LocalDate>
      *         <code>null</code> if there's no maximum
      */
     public LocalDate getMax() {
-        return PARSER.apply(getMaxAsStringString());
+        return max;
+    }
+
+    /**
+     * Sets the selected date as a day count from the epoch 1970-01-01, where
+     * day 0 is 1970-01-01. This is equivalent to
+     * {@code setValue(LocalDate.ofEpochDay(epochDay))}, but doesn't create any
+     * objects when the value is not changed.
+     *
+     * @param epochDay
+     *            the epoch day of the date to select, or
+     *            {@link #EMPTY_EPOCH_DAY} to clear the value
+     * @see #setValue(Object)
+     */
+    public void setValueEpochDay(long epochDay) {
+        if (epochDay != getValueEpochDay()) {
+            setValue(toLocalDate(epochDay));
+        }
+    }
+
+    /**
+     * Gets the selected date as a day count from the epoch 1970-01-01.
+     *
+     * @return the epoch day of the selected date, or {@link #EMPTY_EPOCH_DAY}
+     *         if there's no value
+     * @see #getValue()
+     */
+    public long getValueEpochDay() {
+        return toEpochDay(getValue());
+    }
+
+    /**
+     * Sets the minimum date in the date picker as a day count from the epoch
+     * 1970-01-01.
+     *
+     * @param epochDay
+     *            the epoch day of the minimum date, or
+     *            {@link #EMPTY_EPOCH_DAY} to remove any minimum constraints
+     * @see #setMin(LocalDate)
+     */
+    public void setMinEpochDay(long epochDay) {
+        if (epochDay != getMinEpochDay()) {
+            setMinAsString(formatEpochDay(epochDay));
+            min = toLocalDate(epochDay);
+        }
+    }
+
+    /**
+     * Gets the minimum date in the date picker as a day count from the epoch
+     * 1970-01-01.
+     *
+     * @return the epoch day of the minimum date, or {@link #EMPTY_EPOCH_DAY}
+     *         if there's no minimum
+     * @see #getMin()
+     */
+    public long getMinEpochDay() {
+        return toEpochDay(min);
+    }
+
+    /**
+     * Sets the maximum date in the date picker as a day count from the epoch
+     * 1970-01-01.
+     *
+     * @param epochDay
+     *            the epoch day of the maximum date, or
+     *            {@link #EMPTY_EPOCH_DAY} to remove any maximum constraints
+     * @see #setMax(LocalDate)
+     */
+    public void setMaxEpochDay(long epochDay) {
+        if (epochDay != getMaxEpochDay()) {
+            setMaxAsString(formatEpochDay(epochDay));
+            max = toLocalDate(epochDay);
+        }
+    }
+
+    /**
+     * Gets the maximum date in the date picker as a day count from the epoch
+     * 1970-01-01.
+     *
+     * @return the epoch day of the maximum date, or {@link #EMPTY_EPOCH_DAY}
+     *         if there's no maximum
+     * @see #getMax()
+     */
+    public long getMaxEpochDay() {
+        return toEpochDay(max);
+    }
+
+    private static long toEpochDay(LocalDate date) {
+        return date == null ? EMPTY_EPOCH_DAY : date.toEpochDay();
+    }
+
+    private static LocalDate toLocalDate(long epochDay) {
+        return epochDay == EMPTY_EPOCH_DAY ? null
+                : LocalDate.ofEpochDay(epochDay);
+    }
+
+    private static String formatEpochDay(long epochDay) {
+        if (epochDay == EMPTY_EPOCH_DAY) {
+            return "";
+        }
+        String formatted = IsoDateCodec.formatEpochDay(epochDay);
+        return formatted != null ? formatted
+                : LocalDate.ofEpochDay(epochDay).toString();
     }
 
     /**
@@ -288,7 +469,45 @@ public class DatePicker extends GeneratedVaadinDatePicker<DatePicker, LocalDate>
      */
     public void setLocale(Locale locale) {
         Objects.requireNonNull(locale, "Locale must not be null.");
+        setLocale(locale, toLanguageTag(locale));
+    }
+
+    private void setLocale(Locale locale, String languageTag) {
         this.locale = locale;
+        this.languageTag = languageTag;
+        getUI().ifPresent(ui -> setLocaleWithJS());
+    }
+
+    /**
+     * Gets the language tag used on the client side for the given locale. The
+     * tags are cached since the same few locales are used by all the date
+     * pickers.
+     *
+     * @param locale
+     *            the locale to get the language tag for, not {@code null}
+     * @return the language tag for the client side
+     */
+    static String toLanguageTag(Locale locale) {
+        String languageTag = LANGUAGE_TAGS.get(locale);
+        if (languageTag == null) {
+            languageTag = createLanguageTag(locale);
+            if (LANGUAGE_TAGS.size() < LOCALE_CACHE_SIZE) {
+                LANGUAGE_TAGS.putIfAbsent(locale, languageTag);
+            }
+        }
+        return languageTag;
+    }
+
+    /**
+     * Creates the client side language tag for the given locale without
+     * using the cache.
+     *
+     * @param locale
+     *            the locale to create the language tag for, not {@code null}
+     * @return the language tag for the client side
+     * @see #toLanguageTag(Locale)
+     */
+    static String createLanguageTag(Locale locale) {
         // For ill-formed locales, Locale.toLanguageTag() will append subtag
         // "lvariant" to it, which will cause the client side
         // Date().toLocaleDateString()
@@ -296,47 +515,454 @@ public class DatePicker extends GeneratedVaadinDatePicker<DatePicker, LocalDate>
         // This has been caught by DatePickerValidationPage::invalidLocale test
         // when running on
         // Chrome(73+)/FireFox(66)/Edge(42.17134).
-        if (!locale.toLanguageTag().contains("lvariant")) {
-            languageTag = locale.toLanguageTag();
+        String languageTag = locale.toLanguageTag();
+        if (!languageTag.contains("lvariant")) {
+            return languageTag;
         } else if (locale.getCountry().isEmpty()) {
-            languageTag = locale.getLanguage();
+            return locale.getLanguage();
         } else {
-            languageTag = locale.getLanguage() + "-" + locale.getCountry();
+            return locale.getLanguage() + "-" + locale.getCountry();
         }
-        getUI().ifPresent(ui -> setLocaleWithJS());
     }
 
     private void setLocaleWithJS() {
-        runBeforeClientResponse(ui -> getElement()
-                .callJsFunction("$connector.setLocale", languageTag));
+        runBeforeClientResponse(ui -> {
+            if (!languageTag.equals(clientLanguageTag)) {
+                clientLanguageTag = languageTag;
+                getElement().callJsFunction("$connector.setLocale",
+                        languageTag);
+            }
+        });
     }
 
     /**
-     * Gets the Locale for this date picker
+     * Gets the Locale for this date picker. If no locale has been set with
+     * {@link #setLocale(Locale)}, the locale of the UI the date picker is
+     * attached to is used, or the locale of the current UI while detached. The
+     * locale of the UI is resolved when the date picker is attached, so date
+     * pickers can be created also in threads where there is no current UI.
      *
      * @return the locale used for this picker
      */
     @Override
     public Locale getLocale() {
-        return locale;
+        if (locale != null) {
+            return locale;
+        }
+        // The current UI may be another one, or missing, in worker threads
+        return getUI().map(UI::getLocale).orElseGet(super::getLocale);
     }
 
     @Override
     protected void onAttach(AttachEvent attachEvent) {
         super.onAttach(attachEvent);
-        initConnector();
-        if (languageTag != null) {
-            setLocaleWithJS();
+        DatePickerConnectorInitializer.initialize(attachEvent.getUI(), this);
+        if (asyncValidation != null) {
+            // Check a value that was set while detached
+            LocalDate value = getValue();
+            asyncValidation.attach(isInvalid(value) ? null : value);
+        }
+    }
+
+    /**
+     * Sets whether the client side initialization of this date picker is
+     * deferred until it is focused or opened for the first time.
+     * <p>
+     * By default the client side parsing and formatting of dates is set up
+     * right when the date picker is attached. With deferred initialization
+     * only the formatting of the displayed value is set up on attach, which
+     * reduces the initial rendering time of views with many date pickers that
+     * are rarely edited.
+     * <p>
+     * The setting is applied when the date picker is attached.
+     *
+     * @param deferredInitialization
+     *            {@code true} to defer the client side initialization,
+     *            {@code false} to initialize right away
+     */
+    public void setDeferredInitialization(boolean deferredInitialization) {
+        this.deferredInitialization = deferredInitialization;
+    }
+
+    /**
+     * Gets whether the client side initialization of this date picker is
+     * deferred until it is focused or opened for the first time.
+     *
+     * @return {@code true} if the initialization is deferred, {@code false}
+     *         otherwise
+     * @see #setDeferredInitialization(boolean)
+     */
+    public boolean isDeferredInitialization() {
+        return deferredInitialization;
+    }
+
+    @Override
+    protected void onDetach(DetachEvent detachEvent) {
+        super.onDetach(detachEvent);
+        clientLanguageTag = null;
+        clientI18nJson = null;
+        if (clientI18nId != null) {
+            DatePickerI18nRegistry.get(detachEvent.getUI())
+                    .release(detachEvent.getUI(), clientI18nId);
+            clientI18nId = null;
+        }
+        clientDisabledMonths.clear();
+        clientDisabledRangesStale = true;
+        clientMetadataMonths.clear();
+        clientMetadataStale = true;
+        if (asyncValidation != null) {
+            asyncValidation.detach();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The default value is {@link ValueChangeMode#EAGER}, which synchronizes
+     * the value to the server every time the user commits a new date.
+     */
+    @Override
+    public ValueChangeMode getValueChangeMode() {
+        return currentMode;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * With {@link ValueChangeMode#ON_BLUR}, the value is synchronized only
+     * when the date picker loses focus, which reduces the number of requests
+     * when the user edits the date several times in a row.
+     */
+    @Override
+    public void setValueChangeMode(ValueChangeMode valueChangeMode) {
+        currentMode = valueChangeMode;
+        setSynchronizedEvent(
+                ValueChangeMode.eventForMode(valueChangeMode, "value-changed"));
+        applyChangeTimeout();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The default value is {@link HasValueChangeMode#DEFAULT_CHANGE_TIMEOUT}.
+     */
+    @Override
+    public void setValueChangeTimeout(int valueChangeTimeout) {
+        this.valueChangeTimeout = valueChangeTimeout;
+        applyChangeTimeout();
+    }
+
+    @Override
+    public int getValueChangeTimeout() {
+        return valueChangeTimeout;
+    }
+
+    private void applyChangeTimeout() {
+        ValueChangeMode.applyChangeTimeout(currentMode, valueChangeTimeout,
+                getSynchronizationRegistration());
+    }
+
+    /**
+     * Applies the settings of the given configuration to this date picker.
+     * The minimum and maximum date and whether a value is required are always
+     * applied, also when they are unset in the configuration. The locale and
+     * the i18n properties are only applied if the configuration has them,
+     * otherwise the ones of this date picker are left unchanged.
+     * <p>
+     * The same configuration can be applied to any number of date pickers.
+     * They then refer to its shared locale and i18n object, using the client
+     * side forms computed once by the configuration. The settings are applied
+     * one by one and can be changed individually afterwards. The date picker
+     * doesn't keep a reference to the configuration.
+     *
+     * @param configuration
+     *            the configuration to apply, not <code>null</code>
+     */
+    public void setConfiguration(DatePickerConfiguration configuration) {
+        Objects.requireNonNull(configuration,
+                "Configuration must not be null.");
+        if (configuration.getLocale() != null) {
+            setLocale(configuration.getLocale(),
+                    configuration.getLanguageTag());
+        }
+        setMin(configuration.getMin());
+        setMax(configuration.getMax());
+        setRequired(configuration.isRequired());
+        if (configuration.getI18n() != null) {
+            setI18n(configuration.getI18n());
+        }
+    }
+
+    /**
+     * Sets the provider that tells which dates can be selected in addition to
+     * the {@link #setMin(LocalDate) minimum} and {@link #setMax(LocalDate)
+     * maximum} date. A value for which the provider returns {@code false} is
+     * considered invalid.
+     * <p>
+     * The provider is evaluated once for every day of a year, the first time
+     * a date of that year is validated or shown. The results of the most
+     * recently used years are kept until {@link #refreshEnabledDates()} is
+     * called or a new provider is set. The disabled dates of the months shown
+     * in the popup and the months next to them are sent to the client when it
+     * is opened, and whenever the user scrolls to another month within the
+     * minimum and maximum date.
+     *
+     * @param dateEnabledProvider
+     *            the provider returning {@code true} for the dates that can be
+     *            selected, or <code>null</code> to allow all the dates
+     */
+    public void setDateEnabledProvider(
+            SerializablePredicate<LocalDate> dateEnabledProvider) {
+        disabledDateIndex = dateEnabledProvider == null ? null
+                : new DisabledDateIndex(dateEnabledProvider);
+        if (disabledDateIndex != null) {
+            listenOpened();
+        }
+        refreshClientDisabledRanges();
+    }
+
+    /**
+     * Gets the provider that tells which dates can be selected.
+     *
+     * @return the date enabled provider, or <code>null</code> if all the dates
+     *         can be selected
+     * @see #setDateEnabledProvider(SerializablePredicate)
+     */
+    public SerializablePredicate<LocalDate> getDateEnabledProvider() {
+        return disabledDateIndex == null ? null
+                : disabledDateIndex.getDateEnabledProvider();
+    }
+
+    /**
+     * Evaluates the {@link #setDateEnabledProvider(SerializablePredicate) date
+     * enabled provider} again, e.g. after the availability of the dates has
+     * changed in the backend.
+     */
+    public void refreshEnabledDates() {
+        if (disabledDateIndex != null) {
+            disabledDateIndex = new DisabledDateIndex(
+                    disabledDateIndex.getDateEnabledProvider());
+            refreshClientDisabledRanges();
+        }
+    }
+
+    /**
+     * Sets the provider of the per-day metadata shown in the popup, such as
+     * prices, capacity or badges. The metadata of a day can be any value that
+     * can be serialized to JSON, e.g. a string, a number or a bean.
+     * <p>
+     * The provider is called with a single month at a time, only for the
+     * months shown in the popup and the months next to them, when the popup
+     * is opened and whenever the user scrolls to another month. The
+     * metadata of the most recently used months is cached, until
+     * {@link #refreshDayMetadata()} is called or a new provider is set.
+     * <p>
+     * In the client, the metadata is available through
+     * {@code $connector.getDayMetadata(date)} of the date picker element, and
+     * a {@code day-metadata-changed} event is fired when new metadata has been
+     * received.
+     *
+     * @param dayMetadataProvider
+     *            the provider returning the metadata of the days of a month
+     *            by date, or <code>null</code> to not show any metadata
+     */
+    public void setDayMetadataProvider(
+            SerializableFunction<YearMonth, Map<LocalDate, ?>> dayMetadataProvider) {
+        dayMetadataCache = dayMetadataProvider == null ? null
+                : new DayMetadataCache(dayMetadataProvider);
+        if (dayMetadataCache != null) {
+            listenOpened();
+        }
+        refreshClientDayMetadata();
+    }
+
+    /**
+     * Gets the provider of the per-day metadata shown in the popup.
+     *
+     * @return the day metadata provider, or <code>null</code> if none has been
+     *         set
+     * @see #setDayMetadataProvider(SerializableFunction)
+     */
+    public SerializableFunction<YearMonth, Map<LocalDate, ?>> getDayMetadataProvider() {
+        return dayMetadataCache == null ? null
+                : dayMetadataCache.getDayMetadataProvider();
+    }
+
+    /**
+     * Fetches the per-day metadata again from the
+     * {@link #setDayMetadataProvider(SerializableFunction) day metadata
+     * provider}, e.g. after the data has changed in the backend.
+     */
+    public void refreshDayMetadata() {
+        if (dayMetadataCache != null) {
+            dayMetadataCache = new DayMetadataCache(
+                    dayMetadataCache.getDayMetadataProvider());
+            refreshClientDayMetadata();
+        }
+    }
+
+    private void listenOpened() {
+        if (openedRegistration == null) {
+            openedRegistration = addOpenedChangeListener(event -> {
+                // The popup starts from the selected date or the initial
+                // position again each time it's opened
+                visibleMonth = null;
+                if (event.isOpened()) {
+                    updateDisabledRanges();
+                    updateDayMetadata();
+                }
+            });
+            getElement()
+                    .addEventListener("visible-month-changed",
+                            event -> onVisibleMonthChanged(event
+                                    .getEventData().getString(
+                                            "event.detail.month")))
+                    .addEventData("event.detail.month");
+        }
+    }
+
+    /**
+     * Handles the month scrolled into view in the popup, sent by the
+     * connector as a {@code yyyy-MM} string. The month comes from the client,
+     * so it's limited to the months of the minimum and maximum date.
+     */
+    private void onVisibleMonthChanged(String month) {
+        YearMonth parsed;
+        try {
+            parsed = YearMonth.parse(month);
+        } catch (DateTimeParseException e) {
+            return;
+        }
+        if (min != null && parsed.isBefore(YearMonth.from(min))) {
+            parsed = YearMonth.from(min);
+        }
+        if (max != null && parsed.isAfter(YearMonth.from(max))) {
+            parsed = YearMonth.from(max);
+        }
+        visibleMonth = parsed;
+        updateDisabledRanges();
+        updateDayMetadata();
+    }
+
+    private void refreshClientDayMetadata() {
+        if (!clientMetadataMonths.isEmpty()) {
+            clientMetadataMonths.clear();
+            clientMetadataStale = true;
+        }
+        updateDayMetadata();
+    }
+
+    private void updateDayMetadata() {
+        runBeforeClientResponse(ui -> {
+            JsonObject days = Json.createObject();
+            if (dayMetadataCache != null && isOpened()) {
+                for (YearMonth month : getVisibleMonths()) {
+                    if (clientMetadataMonths.add(month)) {
+                        JsonObject metadata = dayMetadataCache.get(month);
+                        for (String day : metadata.keys()) {
+                            days.put(day, metadata.get(day));
+                        }
+                    }
+                }
+            }
+            if (days.keys().length > 0 || clientMetadataStale) {
+                getElement().callJsFunction("$connector.setDayMetadata", days,
+                        clientMetadataStale);
+                clientMetadataStale = false;
+            }
+        });
+    }
+
+    private void refreshClientDisabledRanges() {
+        if (!clientDisabledMonths.isEmpty()) {
+            clientDisabledMonths.clear();
+            clientDisabledRangesStale = true;
+        }
+        updateDisabledRanges();
+    }
+
+    private void updateDisabledRanges() {
+        runBeforeClientResponse(ui -> {
+            JsonObject ranges = Json.createObject();
+            if (disabledDateIndex != null && isOpened()) {
+                for (YearMonth month : getVisibleMonths()) {
+                    if (clientDisabledMonths.add(month)) {
+                        ranges.put(month.toString(),
+                                disabledDateIndex.getDisabledRanges(month));
+                    }
+                }
+            }
+            if (ranges.keys().length > 0 || clientDisabledRangesStale) {
+                getElement().callJsFunction("$connector.setDisabledRanges",
+                        ranges, clientDisabledRangesStale);
+                clientDisabledRangesStale = false;
+            }
+        });
+    }
+
+    /**
+     * Gets the months shown in the popup and the months around them: the
+     * month the user has scrolled to, or when the popup is opened, the month
+     * of the selected date, the initial position or the current date.
+     */
+    private List<YearMonth> getVisibleMonths() {
+        YearMonth month = visibleMonth;
+        if (month == null) {
+            LocalDate date = getValue();
+            if (date == null) {
+                date = getInitialPosition();
+            }
+            month = YearMonth.from(date != null ? date : LocalDate.now());
         }
-        if (i18n != null) {
-            setI18nWithJS();
+        List<YearMonth> months = new ArrayList<>();
+        for (int i = -PREFETCHED_MONTHS; i <= PREFETCHED_MONTHS; i++) {
+            try {
+                YearMonth prefetched = month.plusMonths(i);
+                if (isWithinMinAndMax(prefetched)) {
+                    months.add(prefetched);
+                }
+            } catch (DateTimeException e) {
+                // Beyond the range of YearMonth, there's nothing to show
+            }
         }
+        return months;
     }
 
-    private void initConnector() {
-        runBeforeClientResponse(ui -> ui.getPage().executeJs(
-                "window.Vaadin.Flow.datepickerConnector.initLazy($0)",
-                getElement()));
+    private boolean isWithinMinAndMax(YearMonth month) {
+        return (min == null || !month.isBefore(YearMonth.from(min)))
+                && (max == null || !month.isAfter(YearMonth.from(max)));
+    }
+
+    /**
+     * Creates the configuration the connector is initialized with and marks
+     * its locale and i18n as sent to the client. Besides the locale and the
+     * i18n, the connector also disables the client side validation. The
+     * invalid state is passed along so that the client can be reconciled with
+     * the server without an extra round-trip.
+     *
+     * @param ui
+     *            the UI this date picker is attached to
+     * @return the connector configuration
+     */
+    JsonObject createConnectorConfiguration(UI ui) {
+        JsonObject configuration = Json.createObject();
+        configuration.put("invalid", isInvalid());
+        if (deferredInitialization) {
+            configuration.put("deferred", true);
+        }
+        String tag = languageTag;
+        if (tag == null && ui.getLocale() != null) {
+            tag = toLanguageTag(ui.getLocale());
+        }
+        if (tag != null) {
+            configuration.put("locale", tag);
+            clientLanguageTag = tag;
+        }
+        if (i18n != null || immutableI18n != null) {
+            clientI18nJson = getI18nJson();
+            configuration.put("i18n", registerI18n(ui));
+        }
+        return configuration;
     }
 
     /**
@@ -345,16 +971,36 @@ public class DatePicker extends GeneratedVaadinDatePicker<DatePicker, LocalDate>
      * Note: updating the object content that is gotten from this method will
      * not update the lang on the component if not set back using
      * {@link DatePicker#setI18n(DatePickerI18n)}
+     * <p>
+     * If {@link ImmutableDatePickerI18n immutable properties} have been set, a
+     * new mutable copy of them is returned.
      *
      * @return the i18n object. It will be <code>null</code>, If the i18n
      *         properties weren't set.
      */
     public DatePickerI18n getI18n() {
-        return i18n;
+        return immutableI18n != null ? immutableI18n.toDatePickerI18n()
+                : i18n;
+    }
+
+    /**
+     * Gets the immutable internationalization properties previously set for
+     * this component.
+     *
+     * @return the immutable i18n properties, or <code>null</code> if they
+     *         weren't set, also when {@link DatePickerI18n mutable
+     *         properties} have been set
+     * @see #setI18n(ImmutableDatePickerI18n)
+     */
+    public ImmutableDatePickerI18n getImmutableI18n() {
+        return immutableI18n;
     }
 
     /**
      * Sets the internationalization properties for this component.
+     * <p>
+     * Changes made to the object, also to its lists in place, are sent to the
+     * client every time it is set, even if it is the object already in use.
      *
      * @param i18n
      *            the internationalized properties, not <code>null</code>
@@ -362,20 +1008,57 @@ public class DatePicker extends GeneratedVaadinDatePicker<DatePicker, LocalDate>
     public void setI18n(DatePickerI18n i18n) {
         Objects.requireNonNull(i18n,
                 "The I18N properties object should not be null");
+        i18n.clearJson();
         this.i18n = i18n;
+        immutableI18n = null;
+        getUI().ifPresent(ui -> setI18nWithJS());
+    }
+
+    /**
+     * Sets immutable internationalization properties for this component. The
+     * same instance can be shared by any number of date pickers, its client
+     * side form is computed only once and sent to the client once per UI.
+     *
+     * @param i18n
+     *            the immutable internationalized properties, not
+     *            <code>null</code>
+     * @see ImmutableDatePickerI18n#forLocale(Locale)
+     */
+    public void setI18n(ImmutableDatePickerI18n i18n) {
+        Objects.requireNonNull(i18n,
+                "The I18N properties object should not be null");
+        immutableI18n = i18n;
+        this.i18n = null;
         getUI().ifPresent(ui -> setI18nWithJS());
     }
 
     private void setI18nWithJS() {
         runBeforeClientResponse(ui -> {
-            JsonObject i18nObject = (JsonObject) JsonSerializer.toJson(i18n);
-            for (String key : i18nObject.keys()) {
-                getElement().executeJs("this.set('i18n." + key + "', $0)",
-                        i18nObject.get(key));
+            String json = getI18nJson();
+            if (!json.equals(clientI18nJson)) {
+                clientI18nJson = json;
+                getElement().callJsFunction("$connector.setRegisteredI18n",
+                        registerI18n(ui));
             }
         });
     }
 
+    private String getI18nJson() {
+        return immutableI18n != null ? immutableI18n.toJson() : i18n.toJson();
+    }
+
+    private String registerI18n(UI ui) {
+        DatePickerI18nRegistry registry = DatePickerI18nRegistry.get(ui);
+        String id = immutableI18n != null ? registry.register(ui, immutableI18n)
+                : registry.register(ui, i18n.toJson());
+        // Released after registering, so that an entry still in use is kept
+        if (clientI18nId != null) {
+            registry.release(ui, clientI18nId);
+        }
+        clientI18nId = id;
+        return id;
+    }
+
     void runBeforeClientResponse(SerializableConsumer<UI> command) {
         getElement().getNode().runWhenAttached(ui -> ui
                 .beforeClientResponse(this, context -> command.accept(ui)));
@@ -429,7 +1112,10 @@ public class DatePicker extends GeneratedVaadinDatePicker<DatePicker, LocalDate>
                 && value.isAfter(max);
         final boolean isSmallerThenMin = value != null && min != null
                 && value.isBefore(min);
-        return isRequiredButEmpty || isGreaterThanMax || isSmallerThenMin;
+        final boolean isDisabled = value != null && disabledDateIndex != null
+                && disabledDateIndex.isDisabled(value);
+        return isRequiredButEmpty || isGreaterThanMax || isSmallerThenMin
+                || isDisabled;
     }
 
     /**
@@ -580,6 +1266,9 @@ public class DatePicker extends GeneratedVaadinDatePicker<DatePicker, LocalDate>
     @Override
     public void setOpened(boolean opened) {
         super.setOpened(opened);
+        if (opened) {
+            synchronizeOpenedUntilClosed();
+        }
     }
 
     /**
@@ -587,7 +1276,7 @@ public class DatePicker extends GeneratedVaadinDatePicker<DatePicker, LocalDate>
      */
     @Override
     public void open() {
-        super.setOpened(true);
+        setOpened(true);
     }
 
     /**
@@ -595,12 +1284,36 @@ public class DatePicker extends GeneratedVaadinDatePicker<DatePicker, LocalDate>
      */
     @Override
     protected void close() {
-        super.setOpened(false);
+        setOpened(false);
+    }
+
+    /**
+     * Synchronizes the opened property from the client side until the overlay
+     * opened by the server is closed. Otherwise the server would keep the
+     * overlay opened after the user has closed it, and opening it again
+     * would not send any change to the client.
+     */
+    private void synchronizeOpenedUntilClosed() {
+        if (openedSynchronization == null) {
+            openedSynchronization = getElement().addPropertyChangeListener(
+                    "opened", "opened-changed", event -> {
+                        if (!isOpenedBoolean()
+                                && openedSynchronization != null) {
+                            openedSynchronization.remove();
+                            openedSynchronization = null;
+                        }
+                    });
+        }
     }
 
     /**
      * Gets the states of the drop-down for the datepicker
      *
+     * <p>
+     * The opened state is updated from the client side while there are
+     * {@link #addOpenedChangeListener(ComponentEventListener) opened change
+     * listeners}, and while the overlay opened from the server side is open.
+     *
      * @return {@code true} if the drop-down is opened, {@code false} otherwise
      */
     public boolean isOpened() {
@@ -627,7 +1340,134 @@ public class DatePicker extends GeneratedVaadinDatePicker<DatePicker, LocalDate>
      * constraints using browser development tools.
      */
     protected void validate() {
-        setInvalid(isInvalid(getValue()));
+        LocalDate value = getValue();
+        boolean invalid = isInvalid(value);
+        setInvalid(invalid);
+        if (asyncValidation != null) {
+            asyncValidation.validate(invalid ? null : value);
+        }
+    }
+
+    /**
+     * Sets a validator that checks the value asynchronously, e.g. against a
+     * slow backend service. The validator is called with the new value
+     * whenever the value changes and passes the other validation, and it
+     * should return right away with a future that is completed when the check
+     * is done.
+     * <p>
+     * A pending check is cancelled when the value changes again. The result
+     * of the check is applied to the {@link #setInvalid(boolean) invalid}
+     * state and the {@link #setErrorMessage(String) error message} through
+     * {@link UI#access(com.vaadin.flow.server.Command)}, so server push or
+     * polling is needed to show it in the browser. A check that completes
+     * exceptionally, or doesn't complete within the
+     * {@link #setAsyncValidationTimeout(Duration, ScheduledExecutorService)
+     * timeout}, marks the value invalid with the
+     * {@link #setAsyncValidationFailureMessage(String) failure message}. A
+     * successful check clears the error message.
+     * <p>
+     * Checks are only run while the date picker is attached. A value set while
+     * detached, or whose check was cancelled by a detach, is checked when the
+     * date picker is attached. Attaching again doesn't repeat a finished
+     * check.
+     *
+     * @param asyncValidator
+     *            the validator returning a future of the validation result,
+     *            or <code>null</code> to remove the validator
+     */
+    public void setAsyncValidator(
+            SerializableFunction<LocalDate, CompletableFuture<ValidationResult>> asyncValidator) {
+        if (asyncValidation != null) {
+            asyncValidation.cancel();
+        }
+        asyncValidation = asyncValidator == null ? null
+                : new AsyncValidation(this, asyncValidator);
+        if (asyncValidation != null) {
+            asyncValidation.setTimeout(asyncValidationTimeout,
+                    asyncValidationScheduler);
+            asyncValidation.setFailureMessage(asyncValidationFailureMessage);
+        }
+    }
+
+    /**
+     * Gets the validator that checks the value asynchronously.
+     *
+     * @return the asynchronous validator, or <code>null</code> if none has
+     *         been set
+     * @see #setAsyncValidator(SerializableFunction)
+     */
+    public SerializableFunction<LocalDate, CompletableFuture<ValidationResult>> getAsyncValidator() {
+        return asyncValidation == null ? null : asyncValidation.getValidator();
+    }
+
+    /**
+     * Sets the time after which a pending check of the
+     * {@link #setAsyncValidator(SerializableFunction) asynchronous validator}
+     * is considered failed. By default checks don't time out.
+     * <p>
+     * The timeouts are scheduled with the given executor, which is owned by
+     * the application and typically shared by all the date pickers. It isn't
+     * serialized with the date picker, so the timeout needs to be set again
+     * after deserialization.
+     *
+     * @param timeout
+     *            the timeout of asynchronous validation, or <code>null</code>
+     *            to not time out checks
+     * @param scheduler
+     *            the executor to schedule the timeouts with, not
+     *            <code>null</code> if a timeout is given
+     */
+    public void setAsyncValidationTimeout(Duration timeout,
+            ScheduledExecutorService scheduler) {
+        if (timeout != null) {
+            Objects.requireNonNull(scheduler, "Scheduler must not be null.");
+        }
+        asyncValidationTimeout = timeout;
+        asyncValidationScheduler = timeout == null ? null : scheduler;
+        if (asyncValidation != null) {
+            asyncValidation.setTimeout(asyncValidationTimeout,
+                    asyncValidationScheduler);
+        }
+    }
+
+    /**
+     * Gets the time after which a pending check of the asynchronous validator
+     * is considered failed.
+     *
+     * @return the timeout of asynchronous validation, or <code>null</code> if
+     *         checks don't time out
+     * @see #setAsyncValidationTimeout(Duration, ScheduledExecutorService)
+     */
+    public Duration getAsyncValidationTimeout() {
+        return asyncValidationTimeout;
+    }
+
+    /**
+     * Sets the error message shown when a check of the
+     * {@link #setAsyncValidator(SerializableFunction) asynchronous validator}
+     * fails or times out. The default is an empty message.
+     *
+     * @param failureMessage
+     *            the error message for failed checks, or <code>null</code> for
+     *            an empty message
+     */
+    public void setAsyncValidationFailureMessage(String failureMessage) {
+        asyncValidationFailureMessage = failureMessage == null ? ""
+                : failureMessage;
+        if (asyncValidation != null) {
+            asyncValidation.setFailureMessage(asyncValidationFailureMessage);
+        }
+    }
+
+    /**
+     * Gets the error message shown when a check of the asynchronous validator
+     * fails or times out.
+     *
+     * @return the error message for failed checks
+     * @see #setAsyncValidationFailureMessage(String)
+     */
+    public String getAsyncValidationFailureMessage() {
+        return asyncValidationFailureMessage;
     }
 
     @Override
@@ -642,13 +1482,28 @@ public class DatePicker extends GeneratedVaadinDatePicker<DatePicker, LocalDate>
         return super.addInvalidChangeListener(listener);
     }
 
+    private void readObject(ObjectInputStream in)
+            throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (locale != null) {
+            languageTag = toLanguageTag(locale);
+        }
+    }
+
     /**
      * The internationalization properties for {@link DatePicker}.
+     * <p>
+     * The serialized form sent to the client is cached and recomputed after
+     * one of the setters has been called, or when the object is set to a date
+     * picker with {@link DatePicker#setI18n(DatePickerI18n)}. Changes made to
+     * the lists in place are therefore sent to the client once the object is
+     * set again.
      */
     public static class DatePickerI18n implements Serializable {
-        private List<String> monthNames;
-        private List<String> weekdays;
-        private List<String> weekdaysShort;
+        // The lists are written as plain strings, see writeObject
+        private transient List<String> monthNames;
+        private transient List<String> weekdays;
+        private transient List<String> weekdaysShort;
         private int firstDayOfWeek;
         private String week;
         private String calendar;
@@ -656,6 +1511,8 @@ public class DatePicker extends GeneratedVaadinDatePicker<DatePicker, LocalDate>
         private String today;
         private String cancel;
 
+        private transient String json;
+
         /**
          * Gets the name of the months.
          *
@@ -675,6 +1532,7 @@ public class DatePicker extends GeneratedVaadinDatePicker<DatePicker, LocalDate>
          */
         public DatePickerI18n setMonthNames(List<String> monthNames) {
             this.monthNames = monthNames;
+            json = null;
             return this;
         }
 
@@ -697,6 +1555,7 @@ public class DatePicker extends GeneratedVaadinDatePicker<DatePicker, LocalDate>
          */
         public DatePickerI18n setWeekdays(List<String> weekdays) {
             this.weekdays = weekdays;
+            json = null;
             return this;
         }
 
@@ -719,6 +1578,7 @@ public class DatePicker extends GeneratedVaadinDatePicker<DatePicker, LocalDate>
          */
         public DatePickerI18n setWeekdaysShort(List<String> weekdaysShort) {
             this.weekdaysShort = weekdaysShort;
+            json = null;
             return this;
         }
 
@@ -746,6 +1606,7 @@ public class DatePicker extends GeneratedVaadinDatePicker<DatePicker, LocalDate>
          */
         public DatePickerI18n setFirstDayOfWeek(int firstDayOfWeek) {
             this.firstDayOfWeek = firstDayOfWeek;
+            json = null;
             return this;
         }
 
@@ -767,6 +1628,7 @@ public class DatePicker extends GeneratedVaadinDatePicker<DatePicker, LocalDate>
          */
         public DatePickerI18n setWeek(String week) {
             this.week = week;
+            json = null;
             return this;
         }
 
@@ -788,6 +1650,7 @@ public class DatePicker extends GeneratedVaadinDatePicker<DatePicker, LocalDate>
          */
         public DatePickerI18n setCalendar(String calendar) {
             this.calendar = calendar;
+            json = null;
             return this;
         }
 
@@ -809,6 +1672,7 @@ public class DatePicker extends GeneratedVaadinDatePicker<DatePicker, LocalDate>
          */
         public DatePickerI18n setClear(String clear) {
             this.clear = clear;
+            json = null;
             return this;
         }
 
@@ -830,6 +1694,7 @@ public class DatePicker extends GeneratedVaadinDatePicker<DatePicker, LocalDate>
          */
         public DatePickerI18n setToday(String today) {
             this.today = today;
+            json = null;
             return this;
         }
 
@@ -851,7 +1716,72 @@ public class DatePicker extends GeneratedVaadinDatePicker<DatePicker, LocalDate>
          */
         public DatePickerI18n setCancel(String cancel) {
             this.cancel = cancel;
+            json = null;
             return this;
         }
+
+        /**
+         * Gets the JSON representation of this object as sent to the client.
+         * The result is cached until the next call to any of the setters or
+         * to {@link #clearJson()}.
+         *
+         * @return the JSON string of the i18n properties
+         */
+        String toJson() {
+            if (json == null) {
+                json = JsonSerializer.toJson(this).toJson();
+            }
+            return json;
+        }
+
+        /**
+         * Clears the cached JSON representation, so that changes made to the
+         * lists in place are included the next time it is needed.
+         */
+        void clearJson() {
+            json = null;
+        }
+
+        private void writeObject(ObjectOutputStream out) throws IOException {
+            out.defaultWriteObject();
+            writeList(out, monthNames);
+            writeList(out, weekdays);
+            writeList(out, weekdaysShort);
+        }
+
+        private void readObject(ObjectInputStream in)
+                throws IOException, ClassNotFoundException {
+            in.defaultReadObject();
+            monthNames = readList(in);
+            weekdays = readList(in);
+            weekdaysShort = readList(in);
+        }
+
+        static void writeList(ObjectOutputStream out, List<String> list)
+                throws IOException {
+            // Avoids the class descriptors and array of the list
+            // implementation, which are written for every distinct list
+            if (list == null) {
+                out.writeInt(-1);
+                return;
+            }
+            out.writeInt(list.size());
+            for (String item : list) {
+                out.writeObject(item);
+            }
+        }
+
+        static List<String> readList(ObjectInputStream in)
+                throws IOException, ClassNotFoundException {
+            int size = in.readInt();
+            if (size < 0) {
+                return null;
+            }
+            List<String> list = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                list.add((String) in.readObject());
+            }
+            return list;
+        }
     }
 }
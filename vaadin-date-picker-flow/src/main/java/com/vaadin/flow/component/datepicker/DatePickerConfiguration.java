@@ -0,0 +1,250 @@
+/*
+ * Copyright 2000-2019 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.component.datepicker;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Locale;
+
+import com.vaadin.flow.component.datepicker.DatePicker.DatePickerI18n;
+
+/**
+ * Immutable set of {@link DatePicker} settings that can be shared by any
+ * number of date pickers, also across sessions and threads, and applied with
+ * {@link DatePicker#setConfiguration(DatePickerConfiguration)}.
+ * <p>
+ * Applying a configuration sets the individual settings of the date picker,
+ * which can still be changed afterwards. The locale and the i18n properties
+ * are only applied if the configuration has them, otherwise the date picker
+ * keeps its own. The minimum, the maximum and whether a value is required are
+ * always applied, <code>null</code> and <code>false</code> removing them.
+ * <p>
+ * The client side language tag of the locale and the JSON form of the i18n
+ * object are computed once per configuration, and the i18n object is sent to
+ * the client once per UI. The date pickers don't keep a reference to the
+ * configuration: each of them still has its own fields for the locale, the
+ * language tag, the dates, whether a value is required and the i18n
+ * properties, as well as the element properties of the dates and the
+ * required flag. The fields only refer to the instances of the
+ * configuration, so sharing one saves the copies of the locale, the language
+ * tag and the i18n object, but not the per date picker state.
+ * <p>
+ * Instances are created with a {@link Builder}:
+ *
+ * <pre>
+ * static final DatePickerConfiguration BOOKING_DATE = DatePickerConfiguration
+ *         .builder().setLocale(new Locale("fi", "FI"))
+ *         .setMin(LocalDate.of(2020, 1, 1)).setRequired(true).build();
+ * </pre>
+ *
+ * @author Vaadin Ltd
+ */
+public final class DatePickerConfiguration implements Serializable {
+
+    private final Locale locale;
+    private final String languageTag;
+    private final LocalDate min;
+    private final LocalDate max;
+    private final boolean required;
+    private final ImmutableDatePickerI18n i18n;
+
+    private DatePickerConfiguration(Builder builder) {
+        locale = builder.locale;
+        languageTag = locale == null ? null : DatePicker.toLanguageTag(locale);
+        min = builder.min;
+        max = builder.max;
+        required = builder.required;
+        i18n = builder.i18n;
+    }
+
+    /**
+     * Creates a new builder for a configuration.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Gets the locale of the configuration.
+     *
+     * @return the locale, or <code>null</code> to leave the locale of the date
+     *         picker unchanged
+     */
+    public Locale getLocale() {
+        return locale;
+    }
+
+    /**
+     * Gets the client side language tag of the locale of the configuration.
+     *
+     * @return the language tag, or <code>null</code> if the configuration
+     *         has no locale
+     */
+    String getLanguageTag() {
+        return languageTag;
+    }
+
+    /**
+     * Gets the minimum date of the configuration.
+     *
+     * @return the minimum date, or <code>null</code> if there's no minimum
+     */
+    public LocalDate getMin() {
+        return min;
+    }
+
+    /**
+     * Gets the maximum date of the configuration.
+     *
+     * @return the maximum date, or <code>null</code> if there's no maximum
+     */
+    public LocalDate getMax() {
+        return max;
+    }
+
+    /**
+     * Gets whether a value is required.
+     *
+     * @return {@code true} if a value is required, {@code false} otherwise
+     */
+    public boolean isRequired() {
+        return required;
+    }
+
+    /**
+     * Gets the internationalization properties of the configuration. The
+     * returned object is shared by all the date pickers using this
+     * configuration and can't be modified.
+     *
+     * @return the i18n properties, or <code>null</code> to leave the i18n
+     *         properties of the date picker unchanged
+     */
+    public ImmutableDatePickerI18n getI18n() {
+        return i18n;
+    }
+
+    /**
+     * Builder for {@link DatePickerConfiguration} instances.
+     */
+    public static final class Builder implements Serializable {
+
+        private Locale locale;
+        private LocalDate min;
+        private LocalDate max;
+        private boolean required;
+        private ImmutableDatePickerI18n i18n;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the locale of the configuration.
+         *
+         * @param locale
+         *            the locale, or <code>null</code> to leave the locale of
+         *            the date picker unchanged
+         * @return this builder
+         * @see DatePicker#setLocale(Locale)
+         */
+        public Builder setLocale(Locale locale) {
+            this.locale = locale;
+            return this;
+        }
+
+        /**
+         * Sets the minimum date of the configuration.
+         *
+         * @param min
+         *            the minimum date, or <code>null</code> for no minimum
+         * @return this builder
+         * @see DatePicker#setMin(LocalDate)
+         */
+        public Builder setMin(LocalDate min) {
+            this.min = min;
+            return this;
+        }
+
+        /**
+         * Sets the maximum date of the configuration.
+         *
+         * @param max
+         *            the maximum date, or <code>null</code> for no maximum
+         * @return this builder
+         * @see DatePicker#setMax(LocalDate)
+         */
+        public Builder setMax(LocalDate max) {
+            this.max = max;
+            return this;
+        }
+
+        /**
+         * Sets whether a value is required.
+         *
+         * @param required
+         *            {@code true} if a value is required, {@code false}
+         *            otherwise
+         * @return this builder
+         * @see DatePicker#setRequired(boolean)
+         */
+        public Builder setRequired(boolean required) {
+            this.required = required;
+            return this;
+        }
+
+        /**
+         * Sets the internationalization properties of the configuration. The
+         * properties are copied right away, so later changes to the given
+         * object don't affect the configuration.
+         *
+         * @param i18n
+         *            the i18n properties, or <code>null</code> to leave the
+         *            i18n properties of the date picker unchanged
+         * @return this builder
+         * @see ImmutableDatePickerI18n#copyOf(DatePickerI18n)
+         */
+        public Builder setI18n(DatePickerI18n i18n) {
+            this.i18n = i18n == null ? null
+                    : ImmutableDatePickerI18n.copyOf(i18n);
+            return this;
+        }
+
+        /**
+         * Sets the immutable internationalization properties of the
+         * configuration.
+         *
+         * @param i18n
+         *            the i18n properties, or <code>null</code> to leave the
+         *            i18n properties of the date picker unchanged
+         * @return this builder
+         * @see DatePicker#setI18n(ImmutableDatePickerI18n)
+         */
+        public Builder setI18n(ImmutableDatePickerI18n i18n) {
+            this.i18n = i18n;
+            return this;
+        }
+
+        /**
+         * Creates a configuration with the settings of this builder.
+         *
+         * @return a new configuration
+         */
+        public DatePickerConfiguration build() {
+            return new DatePickerConfiguration(this);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2000-2019 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.component.datepicker;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.UI;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+
+/**
+ * UI scoped collector of the date pickers attached during a request.
+ * <p>
+ * The connectors of all the collected date pickers are initialized, together
+ * with their locale and i18n, with a single JavaScript invocation right before
+ * the response is written.
+ *
+ * @author Vaadin Ltd
+ */
+final class DatePickerConnectorInitializer implements Serializable {
+
+    private final Set<DatePicker> pending = new LinkedHashSet<>();
+
+    private DatePickerConnectorInitializer() {
+    }
+
+    /**
+     * Schedules the connector initialization of the given date picker to be
+     * done before the next response of the UI.
+     *
+     * @param ui
+     *            the UI the date picker is attached to, not <code>null</code>
+     * @param datePicker
+     *            the date picker to initialize, not <code>null</code>
+     */
+    static void initialize(UI ui, DatePicker datePicker) {
+        DatePickerConnectorInitializer initializer = ComponentUtil.getData(ui,
+                DatePickerConnectorInitializer.class);
+        if (initializer == null) {
+            initializer = new DatePickerConnectorInitializer();
+            ComponentUtil.setData(ui, DatePickerConnectorInitializer.class,
+                    initializer);
+        }
+        initializer.add(ui, datePicker);
+    }
+
+    private void add(UI ui, DatePicker datePicker) {
+        if (pending.isEmpty()) {
+            ui.beforeClientResponse(ui, context -> flush(ui));
+        }
+        pending.add(datePicker);
+    }
+
+    private void flush(UI ui) {
+        // Date pickers detached before the response don't need initialization
+        List<DatePicker> datePickers = pending.stream()
+                .filter(datePicker -> datePicker.getUI()
+                        .filter(ui::equals).isPresent())
+                .collect(Collectors.toList());
+        pending.clear();
+        if (datePickers.isEmpty()) {
+            return;
+        }
+
+        List<Serializable> parameters = new ArrayList<>();
+        JsonArray configurations = Json.createArray();
+        for (DatePicker datePicker : datePickers) {
+            configurations.set(parameters.size(),
+                    datePicker.createConnectorConfiguration(ui));
+            parameters.add(datePicker.getElement());
+        }
+        String elements = IntStream.range(0, datePickers.size())
+                .mapToObj(index -> "$" + index)
+                .collect(Collectors.joining(", "));
+        parameters.add(configurations);
+
+        ui.getPage().executeJs(
+                "window.Vaadin.Flow.datepickerConnector.initLazyAll(["
+                        + elements + "], $" + datePickers.size() + ")",
+                parameters.toArray(new Serializable[parameters.size()]));
+    }
+}
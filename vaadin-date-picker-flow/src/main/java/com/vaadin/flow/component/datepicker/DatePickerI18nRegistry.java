@@ -0,0 +1,145 @@
+/*
+ * Copyright 2000-2019 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.component.datepicker;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.UI;
+
+import elemental.json.Json;
+
+/**
+ * UI scoped registry of the i18n objects sent to the client side.
+ * <p>
+ * Each distinct i18n content is sent to the client only once per UI and
+ * stored in the connector under an id. Date pickers then refer to the shared
+ * entry by its id instead of sending the whole object again.
+ * <p>
+ * {@link ImmutableDatePickerI18n} instances are looked up by the instance
+ * itself, using its precomputed hash code, and mutable i18n objects by their
+ * JSON content.
+ * <p>
+ * Each registration is a reference from a date picker to the entry, which the
+ * date picker releases when it's detached or uses another i18n object. An
+ * entry that no date picker refers to anymore is removed from the server and
+ * the client, so that editing i18n objects in place doesn't make the registry
+ * grow for the lifetime of the UI.
+ *
+ * @author Vaadin Ltd
+ */
+final class DatePickerI18nRegistry implements Serializable {
+
+    private final Map<Object, String> ids = new HashMap<>();
+    // The number of date pickers referring to each id
+    private final Map<String, Integer> references = new HashMap<>();
+    private int nextId;
+
+    private DatePickerI18nRegistry() {
+    }
+
+    /**
+     * Gets the registry of the given UI, creating it if needed.
+     *
+     * @param ui
+     *            the UI to get the registry for, not <code>null</code>
+     * @return the registry of the UI
+     */
+    static DatePickerI18nRegistry get(UI ui) {
+        DatePickerI18nRegistry registry = ComponentUtil.getData(ui,
+                DatePickerI18nRegistry.class);
+        if (registry == null) {
+            registry = new DatePickerI18nRegistry();
+            ComponentUtil.setData(ui, DatePickerI18nRegistry.class, registry);
+        }
+        return registry;
+    }
+
+    /**
+     * Gets the client side id of the given immutable i18n object and adds a
+     * reference to it. The content is sent to the client if it isn't
+     * registered in the UI.
+     *
+     * @param ui
+     *            the UI the registry belongs to
+     * @param i18n
+     *            the immutable i18n object, not <code>null</code>
+     * @return the id of the i18n object in the client side registry
+     */
+    String register(UI ui, ImmutableDatePickerI18n i18n) {
+        String id = ids.get(i18n);
+        if (id == null) {
+            id = register(ui, i18n.toJson());
+            ids.put(i18n, id);
+        } else {
+            references.merge(id, 1, Integer::sum);
+        }
+        return id;
+    }
+
+    /**
+     * Gets the client side id of the given i18n content and adds a reference
+     * to it. The content is sent to the client if it isn't registered in the
+     * UI.
+     *
+     * @param ui
+     *            the UI the registry belongs to
+     * @param json
+     *            the JSON string of the i18n object
+     * @return the id of the i18n object in the client side registry
+     */
+    String register(UI ui, String json) {
+        String id = ids.get(json);
+        if (id == null) {
+            // The id is prefixed with the UI id since several UIs may share
+            // the same page, e.g. when using exported web components
+            id = ui.getUIId() + "-" + nextId++;
+            ids.put(json, id);
+            ui.getPage().executeJs(
+                    "window.Vaadin.Flow.datepickerConnector.registerI18n($0, $1)",
+                    id, Json.parse(json));
+        }
+        references.merge(id, 1, Integer::sum);
+        return id;
+    }
+
+    /**
+     * Releases a reference to the given id. The entry is removed from the
+     * server and the client when it isn't referred to anymore.
+     *
+     * @param ui
+     *            the UI the registry belongs to
+     * @param id
+     *            the id returned when the i18n object was registered
+     */
+    void release(UI ui, String id) {
+        Integer count = references.get(id);
+        if (count == null) {
+            return;
+        }
+        if (count > 1) {
+            references.put(id, count - 1);
+            return;
+        }
+        references.remove(id);
+        ids.values().removeIf(id::equals);
+        ui.getPage().executeJs(
+                "window.Vaadin.Flow.datepickerConnector.unregisterI18n($0)",
+                id);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2000-2019 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.component.datepicker;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import com.vaadin.flow.function.SerializableFunction;
+import com.vaadin.flow.internal.JsonSerializer;
+
+import elemental.json.Json;
+import elemental.json.JsonObject;
+
+/**
+ * Least recently used cache of the per-day metadata fetched from a day
+ * metadata provider, one entry per month.
+ *
+ * @author Vaadin Ltd
+ */
+final class DayMetadataCache implements Serializable {
+
+    /**
+     * The number of months kept in the cache.
+     */
+    static final int CACHE_SIZE = 12;
+
+    private final SerializableFunction<YearMonth, Map<LocalDate, ?>> dayMetadataProvider;
+    private final Map<YearMonth, JsonObject> months = new LruMap();
+
+    private static class LruMap extends LinkedHashMap<YearMonth, JsonObject> {
+
+        private LruMap() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(
+                Map.Entry<YearMonth, JsonObject> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    }
+
+    /**
+     * Creates a new cache for the given provider.
+     *
+     * @param dayMetadataProvider
+     *            the provider fetching the metadata of the days of a month,
+     *            not <code>null</code>
+     */
+    DayMetadataCache(
+            SerializableFunction<YearMonth, Map<LocalDate, ?>> dayMetadataProvider) {
+        this.dayMetadataProvider = Objects.requireNonNull(dayMetadataProvider);
+    }
+
+    /**
+     * Gets the provider of this cache.
+     *
+     * @return the day metadata provider
+     */
+    SerializableFunction<YearMonth, Map<LocalDate, ?>> getDayMetadataProvider() {
+        return dayMetadataProvider;
+    }
+
+    /**
+     * Gets the metadata of the days of the given month, fetching it from the
+     * provider if it's not cached. The returned object has the metadata of
+     * each day under the {@code yyyy-MM-dd} form of the date.
+     *
+     * @param month
+     *            the month to get the metadata for
+     * @return the metadata of the days of the month as JSON
+     */
+    JsonObject get(YearMonth month) {
+        return months.computeIfAbsent(month, this::fetch);
+    }
+
+    private JsonObject fetch(YearMonth month) {
+        JsonObject days = Json.createObject();
+        Map<LocalDate, ?> metadata = dayMetadataProvider.apply(month);
+        if (metadata != null) {
+            metadata.forEach((date, value) -> {
+                if (YearMonth.from(date).equals(month) && value != null) {
+                    days.put(DatePicker.FORMATTER.apply(date),
+                            JsonSerializer.toJson(value));
+                }
+            });
+        }
+        return days;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2000-2019 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.component.datepicker;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import com.vaadin.flow.function.SerializablePredicate;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+
+/**
+ * Index of the dates disabled by a date enabled provider.
+ * <p>
+ * The provider is evaluated for a whole year at a time, the first time a date
+ * of that year is needed, and the result is stored as a bit per day of the
+ * year. After that, checking a date is a single bit lookup. The years used
+ * most recently are kept, so that the years requested by the client can't
+ * make the index grow without bounds.
+ *
+ * @author Vaadin Ltd
+ */
+final class DisabledDateIndex implements Serializable {
+
+    /**
+     * The number of years kept in the index.
+     */
+    static final int CACHE_SIZE = 4;
+
+    private final SerializablePredicate<LocalDate> dateEnabledProvider;
+    private final Map<Integer, BitSet> disabledDaysByYear = new LruMap();
+
+    private static class LruMap extends LinkedHashMap<Integer, BitSet> {
+
+        private LruMap() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(
+                Map.Entry<Integer, BitSet> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    }
+
+    /**
+     * Creates a new index for the given provider.
+     *
+     * @param dateEnabledProvider
+     *            the provider telling whether a date is enabled, not
+     *            <code>null</code>
+     */
+    DisabledDateIndex(SerializablePredicate<LocalDate> dateEnabledProvider) {
+        this.dateEnabledProvider = Objects
+                .requireNonNull(dateEnabledProvider);
+    }
+
+    /**
+     * Gets the provider of this index.
+     *
+     * @return the date enabled provider
+     */
+    SerializablePredicate<LocalDate> getDateEnabledProvider() {
+        return dateEnabledProvider;
+    }
+
+    /**
+     * Checks whether the given date is disabled.
+     *
+     * @param date
+     *            the date to check, not <code>null</code>
+     * @return <code>true</code> if the date is disabled, <code>false</code>
+     *         otherwise
+     */
+    boolean isDisabled(LocalDate date) {
+        return getDisabledDays(date.getYear()).get(date.getDayOfYear() - 1);
+    }
+
+    /**
+     * Gets the disabled dates of the given month as ranges of epoch days. The
+     * returned array contains the first and the last day of each range, in
+     * ascending order.
+     *
+     * @param month
+     *            the month to get the disabled ranges for
+     * @return the disabled ranges of the month
+     */
+    JsonArray getDisabledRanges(YearMonth month) {
+        BitSet disabledDays = getDisabledDays(month.getYear());
+        int first = month.atDay(1).getDayOfYear() - 1;
+        int end = first + month.lengthOfMonth();
+        long epochDayOffset = month.atDay(1).toEpochDay() - first;
+
+        JsonArray ranges = Json.createArray();
+        int start = disabledDays.nextSetBit(first);
+        while (start >= 0 && start < end) {
+            int rangeEnd = Math.min(disabledDays.nextClearBit(start), end);
+            ranges.set(ranges.length(), epochDayOffset + start);
+            ranges.set(ranges.length(), epochDayOffset + rangeEnd - 1);
+            start = disabledDays.nextSetBit(rangeEnd);
+        }
+        return ranges;
+    }
+
+    private BitSet getDisabledDays(int year) {
+        return disabledDaysByYear.computeIfAbsent(year, this::createIndex);
+    }
+
+    private BitSet createIndex(int year) {
+        LocalDate date = LocalDate.ofYearDay(year, 1);
+        int length = date.lengthOfYear();
+        BitSet disabledDays = new BitSet(length);
+        for (int day = 0; day < length; day++) {
+            if (day > 0) {
+                // Not advanced past the last day, which may be LocalDate.MAX
+                date = date.plusDays(1);
+            }
+            if (!dateEnabledProvider.test(date)) {
+                disabledDays.set(day);
+            }
+        }
+        return disabledDays;
+    }
+}
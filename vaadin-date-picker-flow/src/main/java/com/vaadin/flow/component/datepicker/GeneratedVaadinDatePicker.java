@@ -25,7 +25,6 @@ import com.vaadin.flow.component.DomEvent;
 import com.vaadin.flow.component.Focusable;
 import com.vaadin.flow.component.HasStyle;
 import com.vaadin.flow.component.NotSupported;
-import com.vaadin.flow.component.Synchronize;
 import com.vaadin.flow.component.Tag;
 import com.vaadin.flow.component.dependency.JsModule;
 import com.vaadin.flow.component.dependency.NpmPackage;
@@ -470,13 +469,13 @@ public abstract class GeneratedVaadinDatePicker<R extends GeneratedVaadinDatePic
      * <p>
      * Set true to open the date selector overlay.
      * <p>
-     * This property is synchronized automatically from client side when a
-     * 'opened-changed' event happens.
+     * This property is synchronized from client side when a 'opened-changed'
+     * event happens, but only while there are listeners added with
+     * {@link #addOpenedChangeListener(ComponentEventListener)}.
      * </p>
      *
      * @return the {@code opened} property from the webcomponent
      */
-    @Synchronize(property = "opened", value = "opened-changed")
     protected boolean isOpenedBoolean() {
         return getElement().getProperty("opened", false);
     }
@@ -1105,6 +1104,10 @@ public abstract class GeneratedVaadinDatePicker<R extends GeneratedVaadinDatePic
     /**
      * Adds a listener for {@code opened-changed} events fired by the
      * webcomponent.
+     * <p>
+     * The {@code opened} property is synchronized from the client side only
+     * while there are listeners, so the client doesn't send a request every
+     * time the overlay is opened or closed when nobody is listening.
      *
      * @param listener
      *            the listener
@@ -1113,7 +1116,7 @@ public abstract class GeneratedVaadinDatePicker<R extends GeneratedVaadinDatePic
     protected Registration addOpenedChangeListener(
             ComponentEventListener<OpenedChangeEvent<R>> listener) {
         return getElement()
-                .addPropertyChangeListener("opened",
+                .addPropertyChangeListener("opened", "opened-changed",
                         event -> listener.onComponentEvent(
                                 new OpenedChangeEvent<R>((R) this,
                                         event.isUserOriginated())));
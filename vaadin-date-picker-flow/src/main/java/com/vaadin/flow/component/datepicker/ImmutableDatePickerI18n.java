@@ -0,0 +1,538 @@
+/*
+ * Copyright 2000-2019 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.component.datepicker;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.time.DayOfWeek;
+import java.time.Month;
+import java.time.format.TextStyle;
+import java.time.temporal.WeekFields;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.vaadin.flow.component.datepicker.DatePicker.DatePickerI18n;
+import com.vaadin.flow.function.SerializableSupplier;
+
+/**
+ * Immutable internationalization properties for {@link DatePicker}, which can
+ * be shared by any number of date pickers, also across sessions and threads.
+ * <p>
+ * The lists are copied when the instance is created and the lists returned by
+ * the getters can't be modified. Modified properties are created with
+ * {@link #toBuilder()}, or with {@link #toDatePickerI18n()} for a mutable
+ * copy. Instances are compared by their content, and the hash code as well as
+ * the client side form are computed only once.
+ *
+ * @author Vaadin Ltd
+ * @see DatePicker#setI18n(ImmutableDatePickerI18n)
+ */
+public final class ImmutableDatePickerI18n implements Serializable {
+
+    private static final Map<Locale, ImmutableDatePickerI18n> LOCALES = new ConcurrentHashMap<>();
+
+    private static final DayOfWeek[] WEEKDAYS = { DayOfWeek.SUNDAY,
+            DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY,
+            DayOfWeek.THURSDAY, DayOfWeek.FRIDAY, DayOfWeek.SATURDAY };
+
+    // The lists are written as plain strings, see writeObject
+    private transient List<String> monthNames;
+    private transient List<String> weekdays;
+    private transient List<String> weekdaysShort;
+    private final int firstDayOfWeek;
+    private final String week;
+    private final String calendar;
+    private final String clear;
+    private final String today;
+    private final String cancel;
+
+    private final int hash;
+    // The locale the properties were derived from, see forLocale
+    private final transient Locale locale;
+    private transient String json;
+
+    private ImmutableDatePickerI18n(Builder builder, Locale locale) {
+        this.locale = locale;
+        monthNames = copy(builder.monthNames);
+        weekdays = copy(builder.weekdays);
+        weekdaysShort = copy(builder.weekdaysShort);
+        firstDayOfWeek = builder.firstDayOfWeek;
+        week = builder.week;
+        calendar = builder.calendar;
+        clear = builder.clear;
+        today = builder.today;
+        cancel = builder.cancel;
+        hash = Objects.hash(monthNames, weekdays, weekdaysShort,
+                firstDayOfWeek, week, calendar, clear, today, cancel);
+        toJson();
+    }
+
+    /**
+     * Creates a new builder for immutable i18n properties.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Gets the i18n properties for the given locale. The names of the months
+     * and weekdays, and the first day of the week are taken from the locale
+     * data of the JVM. The words "week", "calendar", "clear", "today" and
+     * "cancel" aren't available there and are left in English, they can be
+     * translated with {@link #toBuilder()}:
+     *
+     * <pre>
+     * datePicker.setI18n(ImmutableDatePickerI18n.forLocale(finnish)
+     *         .toBuilder().setCancel("peruuta").build());
+     * </pre>
+     * <p>
+     * The properties of each locale are computed only once and shared by all
+     * the sessions.
+     *
+     * @param locale
+     *            the locale to get the i18n properties for, not
+     *            <code>null</code>
+     * @return the i18n properties for the locale
+     */
+    public static ImmutableDatePickerI18n forLocale(Locale locale) {
+        Objects.requireNonNull(locale, "The locale must not be null");
+        ImmutableDatePickerI18n i18n = LOCALES.get(locale);
+        if (i18n == null) {
+            i18n = createForLocale(locale);
+            if (LOCALES.size() < DatePicker.LOCALE_CACHE_SIZE) {
+                ImmutableDatePickerI18n previous = LOCALES.putIfAbsent(locale,
+                        i18n);
+                if (previous != null) {
+                    i18n = previous;
+                }
+            }
+        }
+        return i18n;
+    }
+
+    /**
+     * Creates the i18n properties for the given locale without using the
+     * cache.
+     *
+     * @param locale
+     *            the locale to create the i18n properties for, not
+     *            <code>null</code>
+     * @return the i18n properties for the locale
+     * @see #forLocale(Locale)
+     */
+    static ImmutableDatePickerI18n createForLocale(Locale locale) {
+        List<String> monthNames = new ArrayList<>(12);
+        for (Month month : Month.values()) {
+            monthNames.add(getDisplayName(month.getDisplayName(
+                    TextStyle.FULL_STANDALONE, locale), month.getValue(),
+                    () -> month.getDisplayName(TextStyle.FULL, locale)));
+        }
+        List<String> weekdays = new ArrayList<>(7);
+        List<String> weekdaysShort = new ArrayList<>(7);
+        for (DayOfWeek day : WEEKDAYS) {
+            weekdays.add(getDisplayName(
+                    day.getDisplayName(TextStyle.FULL_STANDALONE, locale),
+                    day.getValue(),
+                    () -> day.getDisplayName(TextStyle.FULL, locale)));
+            weekdaysShort.add(getDisplayName(
+                    day.getDisplayName(TextStyle.SHORT_STANDALONE, locale),
+                    day.getValue(),
+                    () -> day.getDisplayName(TextStyle.SHORT, locale)));
+        }
+        // DayOfWeek counts from Monday = 1, the web component from Sunday = 0
+        int firstDayOfWeek = WeekFields.of(locale).getFirstDayOfWeek()
+                .getValue() % 7;
+
+        return new ImmutableDatePickerI18n(builder().setMonthNames(monthNames)
+                .setWeekdays(weekdays).setWeekdaysShort(weekdaysShort)
+                .setFirstDayOfWeek(firstDayOfWeek).setWeek("Week")
+                .setCalendar("Calendar").setClear("Clear").setToday("Today")
+                .setCancel("Cancel"), locale);
+    }
+
+    private static String getDisplayName(String standalone, int value,
+            SerializableSupplier<String> format) {
+        // The standalone forms are missing for many locales in the JRE locale
+        // data, in which case the number of the month or day is returned
+        return standalone.equals(String.valueOf(value)) ? format.get()
+                : standalone;
+    }
+
+    /**
+     * Gets an immutable copy of the given i18n properties.
+     *
+     * @param i18n
+     *            the i18n properties to copy, not <code>null</code>
+     * @return an immutable copy of the i18n properties
+     */
+    public static ImmutableDatePickerI18n copyOf(DatePickerI18n i18n) {
+        Objects.requireNonNull(i18n, "The i18n properties must not be null");
+        return builder().setMonthNames(i18n.getMonthNames())
+                .setWeekdays(i18n.getWeekdays())
+                .setWeekdaysShort(i18n.getWeekdaysShort())
+                .setFirstDayOfWeek(i18n.getFirstDayOfWeek())
+                .setWeek(i18n.getWeek()).setCalendar(i18n.getCalendar())
+                .setClear(i18n.getClear()).setToday(i18n.getToday())
+                .setCancel(i18n.getCancel()).build();
+    }
+
+    /**
+     * Creates a new builder initialized with the values of these i18n
+     * properties.
+     *
+     * @return a new builder with the values of these properties
+     */
+    public Builder toBuilder() {
+        return builder().setMonthNames(getMonthNames())
+                .setWeekdays(getWeekdays()).setWeekdaysShort(getWeekdaysShort())
+                .setFirstDayOfWeek(getFirstDayOfWeek()).setWeek(getWeek())
+                .setCalendar(getCalendar()).setClear(getClear())
+                .setToday(getToday()).setCancel(getCancel());
+    }
+
+    /**
+     * Creates a new mutable copy of these i18n properties.
+     *
+     * @return a new mutable copy of these properties
+     */
+    public DatePickerI18n toDatePickerI18n() {
+        return new DatePickerI18n().setMonthNames(mutableCopy(monthNames))
+                .setWeekdays(mutableCopy(weekdays))
+                .setWeekdaysShort(mutableCopy(weekdaysShort))
+                .setFirstDayOfWeek(firstDayOfWeek).setWeek(week)
+                .setCalendar(calendar).setClear(clear).setToday(today)
+                .setCancel(cancel);
+    }
+
+    /**
+     * Gets the names of the months, starting from January.
+     *
+     * @return the month names, which can't be modified
+     * @see DatePickerI18n#getMonthNames()
+     */
+    public List<String> getMonthNames() {
+        return monthNames;
+    }
+
+    /**
+     * Gets the names of the weekdays, starting from Sunday.
+     *
+     * @return the weekday names, which can't be modified
+     * @see DatePickerI18n#getWeekdays()
+     */
+    public List<String> getWeekdays() {
+        return weekdays;
+    }
+
+    /**
+     * Gets the short names of the weekdays, starting from Sunday.
+     *
+     * @return the short weekday names, which can't be modified
+     * @see DatePickerI18n#getWeekdaysShort()
+     */
+    public List<String> getWeekdaysShort() {
+        return weekdaysShort;
+    }
+
+    /**
+     * Gets the first day of the week, 0 for Sunday, 1 for Monday etc.
+     *
+     * @return the index of the first day of the week
+     * @see DatePickerI18n#getFirstDayOfWeek()
+     */
+    public int getFirstDayOfWeek() {
+        return firstDayOfWeek;
+    }
+
+    /**
+     * Gets the translation of the word "week".
+     *
+     * @return the translation
+     */
+    public String getWeek() {
+        return week;
+    }
+
+    /**
+     * Gets the translation of the word "calendar".
+     *
+     * @return the translation
+     */
+    public String getCalendar() {
+        return calendar;
+    }
+
+    /**
+     * Gets the translation of the word "clear".
+     *
+     * @return the translation
+     */
+    public String getClear() {
+        return clear;
+    }
+
+    /**
+     * Gets the translation of the word "today".
+     *
+     * @return the translation
+     */
+    public String getToday() {
+        return today;
+    }
+
+    /**
+     * Gets the translation of the word "cancel".
+     *
+     * @return the translation
+     */
+    public String getCancel() {
+        return cancel;
+    }
+
+    /**
+     * Gets the JSON representation of these properties as sent to the client.
+     * It is the same as the one of an equal {@link DatePickerI18n} and is
+     * computed only once.
+     *
+     * @return the JSON string of the i18n properties
+     */
+    String toJson() {
+        if (json == null) {
+            json = toDatePickerI18n().toJson();
+        }
+        return json;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ImmutableDatePickerI18n)) {
+            return false;
+        }
+        ImmutableDatePickerI18n other = (ImmutableDatePickerI18n) obj;
+        return hash == other.hash && firstDayOfWeek == other.firstDayOfWeek
+                && Objects.equals(monthNames, other.monthNames)
+                && Objects.equals(weekdays, other.weekdays)
+                && Objects.equals(weekdaysShort, other.weekdaysShort)
+                && Objects.equals(week, other.week)
+                && Objects.equals(calendar, other.calendar)
+                && Objects.equals(clear, other.clear)
+                && Objects.equals(today, other.today)
+                && Objects.equals(cancel, other.cancel);
+    }
+
+    private Object writeReplace() {
+        // Properties derived from a locale are shared JVM-wide, only the
+        // locale is needed to find them again after deserialization
+        return locale == null ? this : new LocaleReference(locale);
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        DatePickerI18n.writeList(out, monthNames);
+        DatePickerI18n.writeList(out, weekdays);
+        DatePickerI18n.writeList(out, weekdaysShort);
+    }
+
+    private void readObject(ObjectInputStream in)
+            throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        monthNames = copy(DatePickerI18n.readList(in));
+        weekdays = copy(DatePickerI18n.readList(in));
+        weekdaysShort = copy(DatePickerI18n.readList(in));
+    }
+
+    private static List<String> copy(List<String> list) {
+        return list == null ? null
+                : Collections.unmodifiableList(new ArrayList<>(list));
+    }
+
+    private static List<String> mutableCopy(List<String> list) {
+        return list == null ? null : new ArrayList<>(list);
+    }
+
+    /**
+     * Serialized form of the i18n properties derived from a locale.
+     */
+    private static final class LocaleReference implements Serializable {
+
+        private final Locale locale;
+
+        private LocaleReference(Locale locale) {
+            this.locale = locale;
+        }
+
+        private Object readResolve() {
+            return forLocale(locale);
+        }
+    }
+
+    /**
+     * Builder for {@link ImmutableDatePickerI18n} instances.
+     */
+    public static final class Builder implements Serializable {
+
+        private List<String> monthNames;
+        private List<String> weekdays;
+        private List<String> weekdaysShort;
+        private int firstDayOfWeek;
+        private String week;
+        private String calendar;
+        private String clear;
+        private String today;
+        private String cancel;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the names of the months, starting from January.
+         *
+         * @param monthNames
+         *            the month names
+         * @return this builder
+         * @see DatePickerI18n#setMonthNames(List)
+         */
+        public Builder setMonthNames(List<String> monthNames) {
+            this.monthNames = monthNames;
+            return this;
+        }
+
+        /**
+         * Sets the names of the weekdays, starting from Sunday.
+         *
+         * @param weekdays
+         *            the weekday names
+         * @return this builder
+         * @see DatePickerI18n#setWeekdays(List)
+         */
+        public Builder setWeekdays(List<String> weekdays) {
+            this.weekdays = weekdays;
+            return this;
+        }
+
+        /**
+         * Sets the short names of the weekdays, starting from Sunday.
+         *
+         * @param weekdaysShort
+         *            the short weekday names
+         * @return this builder
+         * @see DatePickerI18n#setWeekdaysShort(List)
+         */
+        public Builder setWeekdaysShort(List<String> weekdaysShort) {
+            this.weekdaysShort = weekdaysShort;
+            return this;
+        }
+
+        /**
+         * Sets the first day of the week, 0 for Sunday, 1 for Monday etc.
+         *
+         * @param firstDayOfWeek
+         *            the index of the first day of the week
+         * @return this builder
+         * @see DatePickerI18n#setFirstDayOfWeek(int)
+         */
+        public Builder setFirstDayOfWeek(int firstDayOfWeek) {
+            this.firstDayOfWeek = firstDayOfWeek;
+            return this;
+        }
+
+        /**
+         * Sets the translation of the word "week".
+         *
+         * @param week
+         *            the translation
+         * @return this builder
+         */
+        public Builder setWeek(String week) {
+            this.week = week;
+            return this;
+        }
+
+        /**
+         * Sets the translation of the word "calendar".
+         *
+         * @param calendar
+         *            the translation
+         * @return this builder
+         */
+        public Builder setCalendar(String calendar) {
+            this.calendar = calendar;
+            return this;
+        }
+
+        /**
+         * Sets the translation of the word "clear".
+         *
+         * @param clear
+         *            the translation
+         * @return this builder
+         */
+        public Builder setClear(String clear) {
+            this.clear = clear;
+            return this;
+        }
+
+        /**
+         * Sets the translation of the word "today".
+         *
+         * @param today
+         *            the translation
+         * @return this builder
+         */
+        public Builder setToday(String today) {
+            this.today = today;
+            return this;
+        }
+
+        /**
+         * Sets the translation of the word "cancel".
+         *
+         * @param cancel
+         *            the translation
+         * @return this builder
+         */
+        public Builder setCancel(String cancel) {
+            this.cancel = cancel;
+            return this;
+        }
+
+        /**
+         * Creates immutable i18n properties with the values of this builder.
+         *
+         * @return new immutable i18n properties
+         */
+        public ImmutableDatePickerI18n build() {
+            return new ImmutableDatePickerI18n(this, null);
+        }
+    }
+}
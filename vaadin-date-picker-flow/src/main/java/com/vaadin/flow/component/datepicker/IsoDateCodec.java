@@ -0,0 +1,210 @@
+/*
+ * Copyright 2000-2019 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.component.datepicker;
+
+import java.time.LocalDate;
+
+/**
+ * Parser and formatter for the fixed {@code yyyy-MM-dd} format used by the
+ * {@code value}, {@code min} and {@code max} properties of the web component.
+ * <p>
+ * Parsing is done with plain character arithmetic, without the intermediate
+ * objects created by {@link java.time.format.DateTimeFormatter}, and invalid
+ * input is reported with the {@link #INVALID} return value instead of an
+ * exception. Only years from 0 to 9999 are covered, other values are left for
+ * the {@link LocalDate} based parsing and formatting.
+ *
+ * @author Vaadin Ltd
+ */
+final class IsoDateCodec {
+
+    /**
+     * Return value of {@link #parseEpochDay(CharSequence)} for input that is
+     * not a valid date in the {@code yyyy-MM-dd} format.
+     */
+    static final long INVALID = Long.MIN_VALUE;
+
+    private static final int LENGTH = 10;
+    private static final int DAYS_0000_TO_1970 = 719528;
+    private static final int DAYS_PER_CYCLE = 146097;
+    private static final long MAX_EPOCH_DAY = 2932896; // 9999-12-31
+
+    private IsoDateCodec() {
+    }
+
+    /**
+     * Parses the given {@code yyyy-MM-dd} string to an epoch day.
+     *
+     * @param text
+     *            the text to parse, may be <code>null</code>
+     * @return the epoch day of the date, or {@link #INVALID} if the text is
+     *         not a valid date in the {@code yyyy-MM-dd} format
+     */
+    static long parseEpochDay(CharSequence text) {
+        int date = parseFields(text);
+        return date < 0 ? INVALID
+                : toEpochDay(date / 10000, date / 100 % 100, date % 100);
+    }
+
+    /**
+     * Parses the given {@code yyyy-MM-dd} string to a date.
+     *
+     * @param text
+     *            the text to parse, may be <code>null</code>
+     * @return the parsed date, or <code>null</code> if the text is not a valid
+     *         date in the {@code yyyy-MM-dd} format
+     */
+    static LocalDate parse(CharSequence text) {
+        // The fields are validated already, converting them to an epoch day
+        // and back would only add work
+        int date = parseFields(text);
+        return date < 0 ? null
+                : LocalDate.of(date / 10000, date / 100 % 100, date % 100);
+    }
+
+    /**
+     * Parses and validates the fields of the given {@code yyyy-MM-dd} string,
+     * packed as {@code year * 10000 + month * 100 + day}, or returns -1 if the
+     * text is not a valid date in that format.
+     */
+    private static int parseFields(CharSequence text) {
+        if (text == null || text.length() != LENGTH || text.charAt(4) != '-'
+                || text.charAt(7) != '-') {
+            return -1;
+        }
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 7);
+        int day = digits(text, 8, 10);
+        if (year < 0 || month < 1 || month > 12 || day < 1
+                || day > lengthOfMonth(year, month)) {
+            return -1;
+        }
+        return year * 10000 + month * 100 + day;
+    }
+
+    /**
+     * Formats the given date in the {@code yyyy-MM-dd} format.
+     *
+     * @param date
+     *            the date to format, not <code>null</code>
+     * @return the formatted date, or <code>null</code> if the year of the date
+     *         is not between 0 and 9999
+     */
+    static String format(LocalDate date) {
+        return format(date.getYear(), date.getMonthValue(),
+                date.getDayOfMonth());
+    }
+
+    /**
+     * Formats the given epoch day in the {@code yyyy-MM-dd} format.
+     *
+     * @param epochDay
+     *            the epoch day to format
+     * @return the formatted date, or <code>null</code> if the date is not
+     *         between 0000-03-01 and 9999-12-31
+     */
+    static String formatEpochDay(long epochDay) {
+        // Same algorithm as in LocalDate.ofEpochDay, limited to positive years
+        long zeroDay = epochDay + DAYS_0000_TO_1970 - 60;
+        if (zeroDay < 0 || epochDay > MAX_EPOCH_DAY) {
+            return null;
+        }
+        long yearEstimate = (400 * zeroDay + 591) / DAYS_PER_CYCLE;
+        long dayOfYearEstimate = zeroDay - dayOfYearBase(yearEstimate);
+        if (dayOfYearEstimate < 0) {
+            yearEstimate--;
+            dayOfYearEstimate = zeroDay - dayOfYearBase(yearEstimate);
+        }
+        int marchDayOfYear = (int) dayOfYearEstimate;
+        int marchMonth = (marchDayOfYear * 5 + 2) / 153;
+        int month = (marchMonth + 2) % 12 + 1;
+        int day = marchDayOfYear - (marchMonth * 306 + 5) / 10 + 1;
+        int year = (int) (yearEstimate + marchMonth / 10);
+        return format(year, month, day);
+    }
+
+    /**
+     * Gets the epoch day of the given date, which is assumed to be valid.
+     */
+    static long toEpochDay(int year, int month, int day) {
+        // Same algorithm as in LocalDate.toEpochDay
+        long total = 365L * year + (year + 3) / 4 - (year + 99) / 100
+                + (year + 399) / 400 + (367 * month - 362) / 12 + day - 1;
+        if (month > 2) {
+            total--;
+            if (!isLeapYear(year)) {
+                total--;
+            }
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
+    private static long dayOfYearBase(long year) {
+        return 365 * year + year / 4 - year / 100 + year / 400;
+    }
+
+    private static String format(int year, int month, int day) {
+        if (year < 0 || year > 9999) {
+            return null;
+        }
+        char[] chars = new char[LENGTH];
+        chars[0] = (char) ('0' + year / 1000);
+        chars[1] = (char) ('0' + year / 100 % 10);
+        chars[2] = (char) ('0' + year / 10 % 10);
+        chars[3] = (char) ('0' + year % 10);
+        chars[4] = '-';
+        chars[5] = (char) ('0' + month / 10);
+        chars[6] = (char) ('0' + month % 10);
+        chars[7] = '-';
+        chars[8] = (char) ('0' + day / 10);
+        chars[9] = (char) ('0' + day % 10);
+        return new String(chars);
+    }
+
+    /**
+     * Reads the decimal number between the given indexes, or returns -1 if
+     * there are other than ASCII digits in the range.
+     */
+    private static int digits(CharSequence text, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+        case 2:
+            return isLeapYear(year) ? 29 : 28;
+        case 4:
+        case 6:
+        case 9:
+        case 11:
+            return 30;
+        default:
+            return 31;
+        }
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright 2000-2019 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.component.datepicker;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Objects;
+
+import com.vaadin.flow.component.AbstractCompositeField;
+import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.HasSize;
+import com.vaadin.flow.component.HasValidation;
+import com.vaadin.flow.component.dependency.JsModule;
+import com.vaadin.flow.component.datepicker.DatePicker.DatePickerI18n;
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.component.html.Label;
+import com.vaadin.flow.dom.Element;
+
+/**
+ * Date field for display mostly forms, which renders its value as plain text
+ * while it's read-only and creates a full {@link DatePicker} only when it's
+ * made editable.
+ * <p>
+ * The text is formatted in the browser by a lightweight
+ * {@code flow-date-picker-text} element, with the same locale rules as the
+ * value of a date picker, but without loading the date picker web component
+ * or creating its overlay. The field is read-only by default. Once it has
+ * been made editable, the date picker is kept and used also when the field is
+ * made read-only again.
+ * <p>
+ * The field implements the same {@link com.vaadin.flow.component.HasValue}
+ * and {@link HasValidation} contracts as {@link DatePicker}, so it can be
+ * bound with a {@link com.vaadin.flow.data.binder.Binder} the same way.
+ *
+ * @author Vaadin Ltd
+ */
+@JsModule("./datepickerConnector.js")
+public class LazyDatePicker
+        extends AbstractCompositeField<Div, LazyDatePicker, LocalDate>
+        implements HasSize, HasValidation {
+
+    private final Label labelElement = new Label();
+    private final Element text = new Element("flow-date-picker-text");
+    private DatePicker datePicker;
+
+    private Locale locale;
+    private DatePickerI18n i18n;
+    private String label;
+    private boolean readOnly = true;
+    private boolean requiredIndicatorVisible;
+    private boolean invalid;
+    private String errorMessage;
+
+    /**
+     * Default constructor.
+     */
+    public LazyDatePicker() {
+        super(null);
+        labelElement.setVisible(false);
+    }
+
+    /**
+     * Convenience constructor to create a field with a label.
+     *
+     * @param label
+     *            the label describing the field
+     */
+    public LazyDatePicker(String label) {
+        this();
+        setLabel(label);
+    }
+
+    @Override
+    protected Div initContent() {
+        Div content = new Div(labelElement);
+        content.getElement().appendChild(text);
+        return content;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The date picker web component is created the first time the field is
+     * made editable.
+     */
+    @Override
+    public void setReadOnly(boolean readOnly) {
+        this.readOnly = readOnly;
+        if (!readOnly || datePicker != null) {
+            upgrade().setReadOnly(readOnly);
+        }
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    @Override
+    public void setRequiredIndicatorVisible(boolean requiredIndicatorVisible) {
+        this.requiredIndicatorVisible = requiredIndicatorVisible;
+        if (datePicker != null) {
+            datePicker.setRequiredIndicatorVisible(requiredIndicatorVisible);
+        }
+    }
+
+    @Override
+    public boolean isRequiredIndicatorVisible() {
+        return requiredIndicatorVisible;
+    }
+
+    @Override
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+        if (datePicker != null) {
+            datePicker.setErrorMessage(errorMessage);
+        }
+    }
+
+    @Override
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    @Override
+    public void setInvalid(boolean invalid) {
+        this.invalid = invalid;
+        if (datePicker != null) {
+            datePicker.setInvalid(invalid);
+        }
+    }
+
+    @Override
+    public boolean isInvalid() {
+        return datePicker != null ? datePicker.isInvalid() : invalid;
+    }
+
+    /**
+     * Sets the label of the field.
+     *
+     * @param label
+     *            the label, or <code>null</code> to remove the label
+     */
+    public void setLabel(String label) {
+        this.label = label;
+        labelElement.setText(label);
+        labelElement.setVisible(label != null && !label.isEmpty());
+        if (datePicker != null) {
+            datePicker.setLabel(label);
+        }
+    }
+
+    /**
+     * Gets the label of the field.
+     *
+     * @return the label, or <code>null</code> if none has been set
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Sets the locale used for formatting the date.
+     *
+     * @param locale
+     *            the locale, not <code>null</code>
+     * @see DatePicker#setLocale(Locale)
+     */
+    public void setLocale(Locale locale) {
+        this.locale = Objects.requireNonNull(locale,
+                "Locale must not be null.");
+        if (datePicker != null) {
+            datePicker.setLocale(locale);
+        } else {
+            updateTextLocale();
+        }
+    }
+
+    /**
+     * Gets the locale used for formatting the date. If no locale has been
+     * set, the locale of the UI is used.
+     *
+     * @return the locale of the field
+     */
+    @Override
+    public Locale getLocale() {
+        return locale != null ? locale : super.getLocale();
+    }
+
+    /**
+     * Sets the internationalization properties used once the date picker has
+     * been created.
+     *
+     * @param i18n
+     *            the internationalized properties, not <code>null</code>
+     * @see DatePicker#setI18n(DatePickerI18n)
+     */
+    public void setI18n(DatePickerI18n i18n) {
+        this.i18n = Objects.requireNonNull(i18n,
+                "The I18N properties object should not be null");
+        if (datePicker != null) {
+            datePicker.setI18n(i18n);
+        }
+    }
+
+    /**
+     * Gets the internationalization properties.
+     *
+     * @return the i18n properties, or <code>null</code> if none have been set
+     */
+    public DatePickerI18n getI18n() {
+        return i18n;
+    }
+
+    /**
+     * Gets whether the date picker web component has been created for this
+     * field, i.e. whether the field has been editable.
+     *
+     * @return {@code true} if the date picker has been created, {@code false}
+     *         if the value is shown as text
+     */
+    public boolean isDatePickerCreated() {
+        return datePicker != null;
+    }
+
+    @Override
+    protected void setPresentationValue(LocalDate newPresentationValue) {
+        if (datePicker != null) {
+            datePicker.setValue(newPresentationValue);
+        } else {
+            text.setProperty("value", newPresentationValue == null ? ""
+                    : DatePicker.FORMATTER.apply(newPresentationValue));
+        }
+    }
+
+    @Override
+    protected void onAttach(AttachEvent attachEvent) {
+        super.onAttach(attachEvent);
+        // The locale of the UI is only known once attached
+        updateTextLocale();
+    }
+
+    private DatePicker upgrade() {
+        if (datePicker == null) {
+            datePicker = new DatePicker(getValue(), getLocale());
+            if (i18n != null) {
+                datePicker.setI18n(i18n);
+            }
+            datePicker.setLabel(label);
+            datePicker.setRequiredIndicatorVisible(requiredIndicatorVisible);
+            datePicker.setErrorMessage(errorMessage);
+            if (invalid) {
+                datePicker.setInvalid(true);
+            }
+            datePicker.setWidth("100%");
+            datePicker.addValueChangeListener(
+                    event -> setModelValue(event.getValue(),
+                            event.isFromClient()));
+            getContent().removeAll();
+            getContent().add(datePicker);
+        }
+        return datePicker;
+    }
+
+    private void updateTextLocale() {
+        Locale textLocale = getLocale();
+        if (datePicker == null && textLocale != null) {
+            text.setProperty("locale", DatePicker.toLanguageTag(textLocale));
+        }
+    }
+
+    /**
+     * Gets the element showing the formatted value.
+     */
+    Element getTextElement() {
+        return text;
+    }
+}
@@ -6,10 +6,10 @@
     /* helper class for parsing regex from formatted date string */
 
     class FlowDatePickerPart {
-        constructor(initial) {
+        constructor(name, initial) {
+            this.name = name;
             this.initial = initial;
             this.index = 0;
-            this.value = 0;
         }
 
         static compare(part1, part2) {
@@ -22,8 +22,326 @@
             return 0;
         }
     }
+
+    /* i18n objects shared by all the date pickers of the page, see registerI18n */
+    const i18nRegistry = {};
+
+    const cleanString = tryCatchWrapper(function (string) {
+        // Clear any non ascii characters from the date string,
+        // mainly the LEFT-TO-RIGHT MARK.
+        // This is a problem for many Microsoft browsers where `toLocaleDateString`
+        // adds the LEFT-TO-RIGHT MARK see https://en.wikipedia.org/wiki/Left-to-right_mark
+        return string.replace(/[^\x00-\x7F]/g, "");
+    });
+
+    /*
+     * Formatters and parsing regexes by language tag, shared by all the date
+     * pickers of the page. Creating Intl formatters is expensive, and
+     * Date.toLocaleDateString creates a new one internally on every call.
+     */
+    const localeDataCache = {};
+
+    const createLocaleData = function (locale) {
+        let formatter;
+        let utcFormatter;
+        try {
+            formatter = new Intl.DateTimeFormat(locale);
+            utcFormatter = new Intl.DateTimeFormat(locale, { timeZone: 'UTC' });
+        } catch (e) {
+            console.warn("The locale is not supported, using default locale setting(en-US).");
+            return getLocaleData("en-US");
+        }
+
+        const dayPart = new FlowDatePickerPart("day", "22");
+        const monthPart = new FlowDatePickerPart("month", "11");
+        const yearPart = new FlowDatePickerPart("year", "1987");
+        const parts = [dayPart, monthPart, yearPart];
+
+        /* create test-string where to extract parsing regex */
+        let testDate = new Date(Date.UTC(yearPart.initial, monthPart.initial - 1, dayPart.initial));
+        let testString = cleanString(utcFormatter.format(testDate));
+        parts.forEach(function (part) {
+            part.index = testString.indexOf(part.initial);
+        });
+        /* sort items to match correct places in regex groups */
+        parts.sort(FlowDatePickerPart.compare);
+        /* create regex
+        * regex will be the date, so that:
+        * - day-part is '(\d{1,2})' (1 or 2 digits),
+        * - month-part is '(\d{1,2})' (1 or 2 digits),
+        * - year-part is '(\d{1,4})' (1 to 4 digits)
+        *
+        * and everything else is left as is.
+        * For example, us date "10/20/2010" => "(\d{1,2})/(\d{1,2})/(\d{1,4})".
+        *
+        * The sorting part solves that which part is which (for example,
+        * here the first part is month, second day and third year)
+        *  */
+        const regex = new RegExp(testString.replace(/[-[\]{}()*+?.,\\^$|#\s]/g, '\\$&')
+            .replace(dayPart.initial, "(\\d{1,2})")
+            .replace(monthPart.initial, "(\\d{1,2})")
+            .replace(yearPart.initial, "(\\d{1,4})"));
+
+        return {
+            formatter: formatter,
+            order: parts.map(part => part.name),
+            regex: regex
+        };
+    };
+
+    const getLocaleData = function (locale) {
+        let localeData = localeDataCache[locale];
+        if (!localeData) {
+            localeData = createLocaleData(locale);
+            localeDataCache[locale] = localeData;
+        }
+        return localeData;
+    };
+
+    const createFormatDate = function (datepicker, localeData) {
+        return tryCatchWrapper(function (date) {
+            let rawDate = datepicker._parseDate(`${date.year}-${date.month + 1}-${date.day}`);
+
+            // Workaround for Safari DST offset issue when using Date.toLocaleDateString().
+            // This is needed to keep the correct date in formatted result even if Safari
+            // makes an error of an hour or more in the result with some past dates.
+            // See https://github.com/vaadin/vaadin-date-picker-flow/issues/126#issuecomment-508169514
+            rawDate.setHours(12)
+
+            return cleanString(localeData.formatter.format(rawDate));
+        });
+    };
+
+    const createParseDate = function (localeData) {
+        return tryCatchWrapper(function (dateString) {
+            dateString = cleanString(dateString);
+
+            if (dateString.length == 0) {
+                return;
+            }
+
+            let match = dateString.match(localeData.regex);
+            if (match && match.length == 4) {
+                const values = {};
+                for (let i = 1; i < 4; i++) {
+                    values[localeData.order[i-1]] = parseInt(match[i]);
+                }
+                return {
+                    day: values.day,
+                    month: values.month - 1,
+                    year: values.year
+                };
+            }  else {
+                return false;
+            }
+        });
+    };
+
+    const pad = function (number) {
+        return (number < 10 ? '0' : '') + number;
+    };
+
+    const toMonthKey = function (date) {
+        return `${date.getFullYear()}-${pad(date.getMonth() + 1)}`;
+    };
+
+    const toDateKey = function (date) {
+        return `${toMonthKey(date)}-${pad(date.getDate())}`;
+    };
+
+    /* formats a yyyy-MM-dd string the same way as the date picker input */
+    const formatIsoDate = function (locale, value) {
+        const parts = value.split('-');
+        // Use noon for the same reason as with the Safari DST offset issue in createFormatDate
+        const date = new Date(0);
+        date.setFullYear(parseInt(parts[0]), parseInt(parts[1]) - 1, parseInt(parts[2]));
+        date.setHours(12, 0, 0, 0);
+        return cleanString(getLocaleData(locale).formatter.format(date));
+    };
+
+    /* lightweight element for showing dates, see DateCellRenderer and LazyDatePicker */
+    if (!customElements.get('flow-date-picker-text')) {
+        customElements.define('flow-date-picker-text', class extends HTMLElement {
+            static get observedAttributes() {
+                return ['locale', 'value'];
+            }
+
+            connectedCallback() {
+                // Properties set before the element was defined shadow the accessors
+                ['locale', 'value'].forEach(name => {
+                    if (Object.prototype.hasOwnProperty.call(this, name)) {
+                        const value = this[name];
+                        delete this[name];
+                        this[name] = value;
+                    }
+                });
+            }
+
+            attributeChangedCallback(name, oldValue, newValue) {
+                this[name] = newValue;
+            }
+
+            get value() {
+                return this.__value;
+            }
+
+            set value(value) {
+                this.__value = value;
+                this.__render();
+            }
+
+            get locale() {
+                return this.__locale;
+            }
+
+            set locale(locale) {
+                this.__locale = locale;
+                this.__render();
+            }
+
+            __render() {
+                tryCatchWrapper(function (element) {
+                    element.textContent = element.__value
+                        ? formatIsoDate(element.__locale || navigator.language, element.__value) : '';
+                })(this);
+            }
+        });
+    }
+
+    /* the yyyy-MM key of the month at the top of the popup, if it's rendered */
+    const getVisibleMonth = function (datepicker) {
+        const content = datepicker._overlayContent;
+        if (!content || !content._originDate || !content.$ || !content.$.monthScroller) {
+            return;
+        }
+        const position = Math.round(content.$.monthScroller.position);
+        if (isNaN(position)) {
+            return;
+        }
+        const origin = content._originDate;
+        return toMonthKey(new Date(origin.getFullYear(), origin.getMonth() + position, 1));
+    };
+
+    const toDateObject = function (date) {
+        return { day: date.getDate(), month: date.getMonth(), year: date.getFullYear() };
+    };
+
+    const disableClientValidation = function (datepicker, invalid) {
+        // Disable the client side validation, the server side takes care of
+        // validating the value
+        datepicker.validate = function () {
+            // Give immediate feedback for the dates the server has disabled,
+            // the server side validation confirms the state
+            if (this._selectedDate && this.$connector && this.$connector.isDateDisabled
+                    && this.$connector.isDateDisabled(this._selectedDate)) {
+                this.invalid = true;
+            }
+            return this.checkValidity(this._inputValue);
+        };
+
+        // If the component was populated and validated in the same request,
+        // the client side may have already validated the value before the
+        // validation was disabled above. Make sure the client side reflects
+        // the invalid state of the server in that case.
+        if (invalid) {
+            datepicker.invalid = true;
+        }
+    };
+
+    const initWithConfiguration = function (datepicker, configuration) {
+        window.Vaadin.Flow.datepickerConnector.initLazy(datepicker, configuration.invalid);
+        if (configuration.locale) {
+            datepicker.$connector.setLocale(configuration.locale);
+        }
+        if (configuration.i18n) {
+            datepicker.$connector.setRegisteredI18n(configuration.i18n);
+        }
+        if (configuration.disabledRanges) {
+            datepicker.$connector.setDisabledRanges(configuration.disabledRanges, true);
+        }
+        if (configuration.dayMetadata) {
+            datepicker.$connector.setDayMetadata(configuration.dayMetadata, true);
+        }
+    };
+
+    /*
+     * Postpones the connector initialization until the date picker is focused
+     * or opened for the first time. Until then only the formatting of the value
+     * for the configured locale is set up, and locale or i18n updates from the
+     * server are collected to be applied when the connector is initialized.
+     */
+    const deferInit = function (datepicker, configuration) {
+        disableClientValidation(datepicker, configuration.invalid);
+        const pending = Object.assign({}, configuration, { invalid: false });
+
+        const init = tryCatchWrapper(function (e) {
+            if (e.type === 'opened-changed' && !datepicker.opened) {
+                return;
+            }
+            datepicker.removeEventListener('focusin', init);
+            datepicker.removeEventListener('opened-changed', init);
+            delete datepicker.$connector;
+            initWithConfiguration(datepicker, pending);
+        });
+        datepicker.addEventListener('focusin', init);
+        datepicker.addEventListener('opened-changed', init);
+
+        datepicker.$connector = {
+            deferred: true,
+
+            setLocale: tryCatchWrapper(function (locale) {
+                pending.locale = locale;
+                datepicker.i18n.formatDate = createFormatDate(datepicker, getLocaleData(locale));
+                if (datepicker._selectedDate) {
+                    /* set the selected date again to format it with the new locale */
+                    datepicker._selectedDate = new Date(datepicker._selectedDate.getTime());
+                }
+            }),
+
+            setRegisteredI18n: tryCatchWrapper(function (id) {
+                pending.i18n = id;
+            }),
+
+            setDisabledRanges: tryCatchWrapper(function (ranges, replace) {
+                pending.disabledRanges = Object.assign({}, replace ? {} : pending.disabledRanges, ranges);
+            }),
+
+            setDayMetadata: tryCatchWrapper(function (days, replace) {
+                pending.dayMetadata = Object.assign({}, replace ? {} : pending.dayMetadata, days);
+            })
+        };
+        if (pending.locale) {
+            datepicker.$connector.setLocale(pending.locale);
+        }
+    };
+
     window.Vaadin.Flow.datepickerConnector = {
-        initLazy: datepicker => tryCatchWrapper(function (datepicker) {
+        registerI18n: (id, i18n) => tryCatchWrapper(function (id, i18n) {
+            i18nRegistry[id] = i18n;
+        })(id, i18n),
+
+        unregisterI18n: (id) => tryCatchWrapper(function (id) {
+            delete i18nRegistry[id];
+        })(id),
+
+        initLazyAll: (datepickers, configurations) => tryCatchWrapper(function (datepickers, configurations) {
+            datepickers.forEach((datepicker, index) => {
+                // The element may be missing if it's not rendered in the client
+                if (!datepicker) {
+                    return;
+                }
+                const configuration = configurations[index];
+                if (configuration.deferred && !datepicker.$connector) {
+                    deferInit(datepicker, configuration);
+                } else {
+                    initWithConfiguration(datepicker, configuration);
+                }
+            });
+        })(datepickers, configurations),
+
+        initLazy: (datepicker, invalid) => tryCatchWrapper(function (datepicker, invalid) {
+            disableClientValidation(datepicker, invalid);
+
             // Check whether the connector was already initialized for the datepicker
             if (datepicker.$connector) {
                 return;
@@ -31,12 +349,6 @@
 
             datepicker.$connector = {};
 
-            /* init helper parts for reverse-engineering date-regex */
-            datepicker.$connector.dayPart = new FlowDatePickerPart("22");
-            datepicker.$connector.monthPart = new FlowDatePickerPart("11");
-            datepicker.$connector.yearPart = new FlowDatePickerPart("1987");
-            datepicker.$connector.parts = [datepicker.$connector.dayPart, datepicker.$connector.monthPart, datepicker.$connector.yearPart];
-
             // Old locale should always be the default vaadin-date-picker component
             // locale {English/US} as we init lazily and the date-picker formats
             // the date using the default i18n settings and we need to use the input
@@ -49,14 +361,6 @@
                 }
             }));
 
-            const cleanString = tryCatchWrapper(function (string) {
-                // Clear any non ascii characters from the date string,
-                // mainly the LEFT-TO-RIGHT MARK.
-                // This is a problem for many Microsoft browsers where `toLocaleDateString`
-                // adds the LEFT-TO-RIGHT MARK see https://en.wikipedia.org/wiki/Left-to-right_mark
-                return string.replace(/[^\x00-\x7F]/g, "");
-            });
-
             const getInputValue = tryCatchWrapper(function () {
                 let inputValue = '';
                 try {
@@ -69,80 +373,21 @@
             });
 
             datepicker.$connector.setLocale = tryCatchWrapper(function (locale) {
-
-                try {
-                    // Check whether the locale is supported or not
-                    new Date().toLocaleDateString(locale);
-                } catch (e) {
-                    locale = "en-US";
-                    console.warn("The locale is not supported, using default locale setting(en-US).");
-                }
+                const localeData = getLocaleData(locale);
 
                 let currentDate = false;
                 let inputValue = getInputValue();
-                if (datepicker.i18n.parseDate !== 'undefined' && inputValue) {
+                let selectedDate = datepicker._selectedDate;
+                if (selectedDate && inputValue === datepicker.i18n.formatDate(toDateObject(selectedDate))) {
+                    /* the input shows the selected date, no need to parse it */
+                    currentDate = toDateObject(selectedDate);
+                } else if (datepicker.i18n.parseDate !== 'undefined' && inputValue) {
                     /* get current date with old parsing */
                     currentDate = datepicker.i18n.parseDate(inputValue);
                 }
 
-                /* create test-string where to extract parsing regex */
-                let testDate = new Date(Date.UTC(datepicker.$connector.yearPart.initial, datepicker.$connector.monthPart.initial - 1, datepicker.$connector.dayPart.initial));
-                let testString = cleanString(testDate.toLocaleDateString(locale, { timeZone: 'UTC' }));
-                datepicker.$connector.parts.forEach(function (part) {
-                    part.index = testString.indexOf(part.initial);
-                });
-                /* sort items to match correct places in regex groups */
-                datepicker.$connector.parts.sort(FlowDatePickerPart.compare);
-                /* create regex
-                * regex will be the date, so that:
-                * - day-part is '(\d{1,2})' (1 or 2 digits),
-                * - month-part is '(\d{1,2})' (1 or 2 digits),
-                * - year-part is '(\d{1,4})' (1 to 4 digits)
-                *
-                * and everything else is left as is.
-                * For example, us date "10/20/2010" => "(\d{1,2})/(\d{1,2})/(\d{1,4})".
-                *
-                * The sorting part solves that which part is which (for example,
-                * here the first part is month, second day and third year)
-                *  */
-                datepicker.$connector.regex = testString.replace(/[-[\]{}()*+?.,\\^$|#\s]/g, '\\$&')
-                    .replace(datepicker.$connector.dayPart.initial, "(\\d{1,2})")
-                    .replace(datepicker.$connector.monthPart.initial, "(\\d{1,2})")
-                    .replace(datepicker.$connector.yearPart.initial, "(\\d{1,4})");
-
-                datepicker.i18n.formatDate = tryCatchWrapper(function (date) {
-                    let rawDate = datepicker._parseDate(`${date.year}-${date.month + 1}-${date.day}`);
-
-                    // Workaround for Safari DST offset issue when using Date.toLocaleDateString().
-                    // This is needed to keep the correct date in formatted result even if Safari
-                    // makes an error of an hour or more in the result with some past dates.
-                    // See https://github.com/vaadin/vaadin-date-picker-flow/issues/126#issuecomment-508169514
-                    rawDate.setHours(12)
-
-                    return cleanString(rawDate.toLocaleDateString(locale));
-                });
-
-                datepicker.i18n.parseDate = tryCatchWrapper(function (dateString) {
-                    dateString = cleanString(dateString);
-
-                    if (dateString.length == 0) {
-                        return;
-                    }
-
-                    let match = dateString.match(datepicker.$connector.regex);
-                    if (match && match.length == 4) {
-                        for (let i = 1; i < 4; i++) {
-                            datepicker.$connector.parts[i-1].value = parseInt(match[i]);
-                        }
-                        return {
-                            day: datepicker.$connector.dayPart.value,
-                            month: datepicker.$connector.monthPart.value - 1,
-                            year: datepicker.$connector.yearPart.value
-                        };
-                    }  else {
-                        return false;
-                    }
-                });
+                datepicker.i18n.formatDate = createFormatDate(datepicker, localeData);
+                datepicker.i18n.parseDate = createParseDate(localeData);
 
                 if (inputValue === "") {
                     oldLocale = locale;
@@ -151,6 +396,94 @@
                     datepicker._selectedDate = datepicker._parseDate(`${currentDate.year}-${currentDate.month + 1}-${currentDate.day}`);
                 }
             });
-        })(datepicker)
+
+            datepicker.$connector.setI18n = tryCatchWrapper(function (i18n) {
+                // Merge all the given keys in one go so that the component
+                // only needs to react to a single i18n change. The formatDate
+                // and parseDate functions set by setLocale are retained.
+                datepicker.i18n = Object.assign({}, datepicker.i18n, i18n);
+            });
+
+            /* disabled dates by month, as [first, last, first, last, ...] epoch days */
+            let disabledRanges = {};
+
+            datepicker.$connector.setDisabledRanges = tryCatchWrapper(function (ranges, replace) {
+                disabledRanges = Object.assign({}, replace ? {} : disabledRanges, ranges);
+            });
+
+            datepicker.$connector.isDateDisabled = tryCatchWrapper(function (date) {
+                const ranges = disabledRanges[toMonthKey(date)];
+                if (!ranges) {
+                    return false;
+                }
+                const epochDay = Math.round(Date.UTC(date.getFullYear(), date.getMonth(), date.getDate()) / 86400000);
+                for (let i = 0; i < ranges.length; i += 2) {
+                    if (epochDay >= ranges[i] && epochDay <= ranges[i + 1]) {
+                        return true;
+                    }
+                }
+                return false;
+            });
+
+            /*
+             * The popup is an infinite month scroller, tell the server which
+             * month has been scrolled into view so that it can send the
+             * disabled dates and day metadata around it.
+             */
+            let visibleMonth;
+            let monthScroller;
+
+            const onMonthScroll = tryCatchWrapper(function () {
+                const month = getVisibleMonth(datepicker);
+                if (month && month !== visibleMonth) {
+                    visibleMonth = month;
+                    datepicker.dispatchEvent(new CustomEvent('visible-month-changed', {
+                        detail: { month: month }
+                    }));
+                }
+            });
+
+            datepicker.addEventListener('opened-changed', tryCatchWrapper(function () {
+                if (monthScroller) {
+                    monthScroller.removeEventListener('custom-scroll', onMonthScroll);
+                    monthScroller = undefined;
+                }
+                visibleMonth = undefined;
+                if (datepicker.opened) {
+                    // The overlay content is rendered after the opened state changes
+                    requestAnimationFrame(tryCatchWrapper(function () {
+                        const content = datepicker._overlayContent;
+                        if (datepicker.opened && content && content.$ && content.$.monthScroller) {
+                            monthScroller = content.$.monthScroller;
+                            monthScroller.addEventListener('custom-scroll', onMonthScroll);
+                            onMonthScroll();
+                        }
+                    }));
+                }
+            }));
+
+            /* metadata of the days by yyyy-MM-dd, see DatePicker.setDayMetadataProvider */
+            let dayMetadata = {};
+
+            datepicker.$connector.setDayMetadata = tryCatchWrapper(function (days, replace) {
+                dayMetadata = Object.assign({}, replace ? {} : dayMetadata, days);
+                datepicker.dispatchEvent(new CustomEvent('day-metadata-changed', {
+                    detail: { metadata: days, replaced: !!replace }
+                }));
+            });
+
+            datepicker.$connector.getDayMetadata = tryCatchWrapper(function (date) {
+                return dayMetadata[toDateKey(date)];
+            });
+
+            datepicker.$connector.setRegisteredI18n = tryCatchWrapper(function (id) {
+                const i18n = i18nRegistry[id];
+                if (i18n) {
+                    datepicker.$connector.setI18n(i18n);
+                } else {
+                    console.warn(`No registered i18n found with id ${id}.`);
+                }
+            });
+        })(datepicker, invalid)
     };
 })();
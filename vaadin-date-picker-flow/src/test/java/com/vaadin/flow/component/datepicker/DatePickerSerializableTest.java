@@ -3,12 +3,32 @@ package com.vaadin.flow.component.datepicker;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.testutil.ClassesSerializableTest;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 import java.util.stream.Stream;
 
+import org.junit.Assert;
+import org.junit.Test;
+
 public class DatePickerSerializableTest extends ClassesSerializableTest {
 
     private static final UI FAKE_UI = new UI();
 
+    private static final Locale FINNISH = new Locale("fi", "FI");
+    private static final LocalDate MIN = LocalDate.of(2020, 1, 1);
+    private static final LocalDate MAX = LocalDate.of(2020, 12, 31);
+
+    private static final int MAX_SERIALIZED_SIZE_PER_DATE_PICKER = 6 * 1024;
+    // Mostly the class descriptor of Locale, which a session writes only once
+    private static final int MAX_SERIALIZED_SIZE_OF_LOCALE_I18N = 320;
+
     @Override
     protected void resetThreadLocals() {
         super.resetThreadLocals();
@@ -27,4 +47,127 @@ public class DatePickerSerializableTest extends ClassesSerializableTest {
                 "com\\.vaadin\\.flow\\.component\\.contextmenu\\.osgi\\..*"
         ));
     }
+
+    @Test
+    public void serializeDatePicker_sizePerDatePicker() throws Exception {
+        ImmutableDatePickerI18n i18n = ImmutableDatePickerI18n
+                .forLocale(FINNISH);
+        int single = serialize(createDatePickers(1, i18n)).length;
+        List<DatePicker> hundredAndOne = createDatePickers(101, i18n);
+        byte[] bytes = serialize(hundredAndOne);
+        int perDatePicker = (bytes.length - single) / 100;
+
+        Assert.assertTrue(
+                "A date picker takes " + perDatePicker
+                        + " bytes in the serialized session",
+                perDatePicker < MAX_SERIALIZED_SIZE_PER_DATE_PICKER);
+
+        // The shared locale, dates and i18n are written once and referred
+        // to by the other date pickers
+        List<DatePicker> deserialized = deserialize(bytes);
+        DatePicker first = deserialized.get(0);
+        DatePicker last = deserialized.get(100);
+        Assert.assertSame(first.getLocale(), last.getLocale());
+        Assert.assertSame(first.getMin(), last.getMin());
+        Assert.assertSame(first.getMax(), last.getMax());
+        Assert.assertSame(i18n, last.getImmutableI18n());
+    }
+
+    @Test
+    public void serializeDatePicker_localeIsRestoredExactly() throws Exception {
+        // Locales that don't survive a round-trip through a language tag
+        Locale[] locales = { new Locale("i", "i", "i"),
+                new Locale("no", "NO", "NY"), new Locale("th", "TH", "TH"),
+                new Locale("ja", "JP", "JP"),
+                Locale.forLanguageTag("sr-Latn-RS"),
+                Locale.forLanguageTag("de-DE-u-co-phonebk-x-private") };
+        for (Locale locale : locales) {
+            DatePicker datePicker = new DatePicker(LocalDate.of(2020, 1, 1),
+                    locale);
+            DatePicker deserialized = deserialize(serialize(datePicker));
+            Assert.assertEquals(locale, deserialized.getLocale());
+
+            ImmutableDatePickerI18n i18n = ImmutableDatePickerI18n
+                    .forLocale(locale);
+            Assert.assertSame(i18n, deserialize(serialize(i18n)));
+        }
+    }
+
+    @Test
+    public void serializeDatePicker_settingsAreRestored() throws Exception {
+        ImmutableDatePickerI18n i18n = ImmutableDatePickerI18n
+                .forLocale(FINNISH);
+        DatePicker datePicker = createDatePickers(1, i18n).get(0);
+
+        DatePicker deserialized = deserialize(serialize(datePicker));
+
+        Assert.assertEquals(datePicker.getValue(), deserialized.getValue());
+        Assert.assertEquals(datePicker.getMin(), deserialized.getMin());
+        Assert.assertEquals(datePicker.getMax(), deserialized.getMax());
+        Assert.assertEquals(FINNISH, deserialized.getLocale());
+        Assert.assertSame(i18n, deserialized.getImmutableI18n());
+    }
+
+    @Test
+    public void serializeLocaleI18n_writtenAsLocaleReference()
+            throws Exception {
+        ImmutableDatePickerI18n i18n = ImmutableDatePickerI18n
+                .forLocale(Locale.GERMANY);
+        byte[] bytes = serialize(i18n);
+
+        Assert.assertTrue(
+                "Locale based i18n takes " + bytes.length + " bytes",
+                bytes.length < MAX_SERIALIZED_SIZE_OF_LOCALE_I18N);
+        Assert.assertSame(i18n, deserialize(bytes));
+    }
+
+    @Test
+    public void serializeI18n_listsAreRestored() throws Exception {
+        ImmutableDatePickerI18n i18n = ImmutableDatePickerI18n
+                .forLocale(FINNISH).toBuilder().setCancel("peruuta").build();
+        ImmutableDatePickerI18n deserialized = deserialize(serialize(i18n));
+        Assert.assertEquals(i18n, deserialized);
+        Assert.assertEquals(i18n.getWeekdaysShort(),
+                deserialized.getWeekdaysShort());
+
+        DatePicker.DatePickerI18n mutable = new DatePicker.DatePickerI18n()
+                .setMonthNames(i18n.getMonthNames()).setCancel("peruuta");
+        DatePicker.DatePickerI18n deserializedMutable = deserialize(
+                serialize(mutable));
+        Assert.assertEquals(i18n.getMonthNames(),
+                deserializedMutable.getMonthNames());
+        Assert.assertNull(deserializedMutable.getWeekdays());
+        Assert.assertEquals("peruuta", deserializedMutable.getCancel());
+    }
+
+    private static List<DatePicker> createDatePickers(int count,
+            ImmutableDatePickerI18n i18n) {
+        List<DatePicker> datePickers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            DatePicker datePicker = new DatePicker(
+                    LocalDate.of(2020, 1, 1).plusDays(i), FINNISH);
+            datePicker.setMin(MIN);
+            datePicker.setMax(MAX);
+            datePicker.setI18n(i18n);
+            datePickers.add(datePicker);
+        }
+        return datePickers;
+    }
+
+    private static byte[] serialize(Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T deserialize(byte[] bytes)
+            throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(bytes))) {
+            return (T) in.readObject();
+        }
+    }
 }
@@ -20,7 +20,24 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import org.junit.After;
 import org.junit.Assert;
@@ -30,11 +47,25 @@ import org.mockito.Mockito;
 
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.datepicker.DatePicker.DatePickerI18n;
+import com.vaadin.flow.component.internal.PendingJavaScriptInvocation;
+import com.vaadin.flow.data.binder.ValidationResult;
+import com.vaadin.flow.data.value.HasValueChangeMode;
+import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.di.Instantiator;
+import com.vaadin.flow.dom.DomEvent;
 import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.nodefeature.ElementListenerMap;
+import com.vaadin.flow.internal.nodefeature.ElementPropertyMap;
+import com.vaadin.flow.internal.nodefeature.PropertyChangeDeniedException;
+import com.vaadin.flow.server.Command;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.shared.Registration;
 
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
 import net.jcip.annotations.NotThreadSafe;
 
 @NotThreadSafe
@@ -163,6 +194,1030 @@ public class DatePickerTest {
                 field.getElement().getPropertyRaw("value"));
     }
 
+    @Test
+    public void elementHasMinAndMax_wrapIntoDatePicker_typedMinAndMaxAreRead() {
+        Element element = new Element("vaadin-date-picker");
+        element.setProperty("min", "2007-12-03");
+        element.setProperty("max", "2008-12-03");
+        VaadinSession session = Mockito.mock(VaadinSession.class);
+        ui.getInternals().setSession(session);
+        VaadinService service = Mockito.mock(VaadinService.class);
+        Mockito.when(session.getService()).thenReturn(service);
+
+        Instantiator instantiator = Mockito.mock(Instantiator.class);
+
+        Mockito.when(service.getInstantiator()).thenReturn(instantiator);
+
+        Mockito.when(instantiator.createComponent(DatePicker.class))
+                .thenAnswer(invocation -> new DatePicker());
+
+        DatePicker picker = Component.from(element, DatePicker.class);
+        assertEquals(LocalDate.of(2007, 12, 3), picker.getMin());
+        assertEquals(LocalDate.of(2008, 12, 3), picker.getMax());
+
+        picker.setValue(LocalDate.of(2009, 1, 1));
+        assertTrue(picker.isInvalid());
+    }
+
+    @Test
+    public void setMinAndMax_getterReturnsTypedValue() {
+        DatePicker picker = new DatePicker();
+        LocalDate min = LocalDate.of(2018, 1, 1);
+        LocalDate max = LocalDate.of(2018, 12, 31);
+        picker.setMin(min);
+        picker.setMax(max);
+
+        Assert.assertSame(min, picker.getMin());
+        Assert.assertSame(max, picker.getMax());
+        assertEquals("2018-01-01", picker.getElement().getProperty("min"));
+        assertEquals("2018-12-31", picker.getElement().getProperty("max"));
+
+        picker.setMin(null);
+        assertNull(picker.getMin());
+        assertEquals("", picker.getElement().getProperty("min"));
+    }
+
+    @Test
+    public void setValueEpochDay_sameAsLocalDateValue() {
+        DatePicker picker = new DatePicker();
+        assertEquals(DatePicker.EMPTY_EPOCH_DAY, picker.getValueEpochDay());
+
+        LocalDate date = LocalDate.of(2018, 4, 25);
+        picker.setValueEpochDay(date.toEpochDay());
+        assertEquals(date, picker.getValue());
+        assertEquals(date.toEpochDay(), picker.getValueEpochDay());
+        assertEquals("2018-04-25", picker.getElement().getProperty("value"));
+
+        picker.setValueEpochDay(DatePicker.EMPTY_EPOCH_DAY);
+        assertNull(picker.getValue());
+    }
+
+    @Test
+    public void setMinAndMaxEpochDay_valueIsValidated() {
+        DatePicker picker = new DatePicker();
+        LocalDate min = LocalDate.of(2018, 1, 1);
+        LocalDate max = LocalDate.of(2018, 12, 31);
+        picker.setMinEpochDay(min.toEpochDay());
+        picker.setMaxEpochDay(max.toEpochDay());
+
+        assertEquals(min, picker.getMin());
+        assertEquals(max.toEpochDay(), picker.getMaxEpochDay());
+        assertEquals("2018-01-01", picker.getElement().getProperty("min"));
+        assertEquals("2018-12-31", picker.getElement().getProperty("max"));
+
+        picker.setValueEpochDay(max.plusDays(1).toEpochDay());
+        assertTrue(picker.isInvalid());
+
+        picker.setMaxEpochDay(DatePicker.EMPTY_EPOCH_DAY);
+        assertNull(picker.getMax());
+        assertEquals("", picker.getElement().getProperty("max"));
+    }
+
+    @Test
+    public void setI18n_attach_i18nIsSentInSingleInvocation() {
+        DatePicker picker = new DatePicker();
+        picker.setI18n(createFinnishI18n());
+
+        ui.add(picker);
+
+        List<String> expressions = getPendingExpressions();
+        assertEquals(1, count(expressions, ".registerI18n("));
+        assertEquals(1, count(expressions, "initLazyAll"));
+        assertEquals(2, expressions.size());
+    }
+
+    @Test
+    public void setEqualI18n_attachSeveral_i18nIsRegisteredOncePerUI() {
+        DatePickerI18n sharedI18n = createFinnishI18n();
+        DatePicker picker1 = new DatePicker();
+        picker1.setI18n(sharedI18n);
+        DatePicker picker2 = new DatePicker();
+        picker2.setI18n(sharedI18n);
+        DatePicker picker3 = new DatePicker();
+        picker3.setI18n(createFinnishI18n());
+        DatePicker picker4 = new DatePicker();
+        picker4.setI18n(createFinnishI18n().setCancel("peru"));
+
+        ui.add(picker1, picker2, picker3, picker4);
+
+        List<String> expressions = getPendingExpressions();
+        assertEquals(2, count(expressions, ".registerI18n("));
+    }
+
+    @Test
+    public void attachSeveral_connectorsInitializedInSingleInvocation() {
+        DatePicker picker1 = new DatePicker();
+        DatePicker picker2 = new DatePicker(LocalDate.of(2018, 4, 25),
+                Locale.FRANCE);
+        DatePicker picker3 = new DatePicker();
+        picker3.setI18n(createFinnishI18n());
+        DatePicker detached = new DatePicker();
+
+        ui.add(picker1, picker2, picker3, detached);
+        ui.remove(detached);
+
+        ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
+        List<PendingJavaScriptInvocation> invocations = ui.getInternals()
+                .dumpPendingJavaScriptInvocations().stream()
+                .filter(invocation -> invocation.getInvocation()
+                        .getExpression().contains("initLazy"))
+                .collect(Collectors.toList());
+        assertEquals(1, invocations.size());
+        assertTrue(invocations.get(0).getInvocation().getExpression()
+                .contains("initLazyAll([$0, $1, $2], $3)"));
+
+        List<Object> parameters = invocations.get(0).getInvocation()
+                .getParameters();
+        assertEquals(picker1.getElement(), parameters.get(0));
+        assertEquals(picker2.getElement(), parameters.get(1));
+        assertEquals(picker3.getElement(), parameters.get(2));
+        JsonArray configurations = (JsonArray) parameters.get(3);
+        assertEquals(3, configurations.length());
+        assertEquals("fr-FR",
+                configurations.getObject(1).getString("locale"));
+        assertFalse(configurations.getObject(1).hasKey("i18n"));
+        assertTrue(configurations.getObject(2).hasKey("i18n"));
+    }
+
+    @Test
+    public void setDeferredInitialization_deferredFlagInConnectorConfiguration() {
+        DatePicker picker = new DatePicker();
+        ui.add(picker);
+        assertFalse(
+                picker.createConnectorConfiguration(ui).hasKey("deferred"));
+
+        picker.setDeferredInitialization(true);
+        assertTrue(picker.isDeferredInitialization());
+        assertTrue(picker.createConnectorConfiguration(ui)
+                .getBoolean("deferred"));
+    }
+
+    @Test
+    public void setUnchangedLocaleAndI18n_noInvocations() {
+        DatePicker picker = new DatePicker(LocalDate.of(2018, 4, 25),
+                Locale.FRANCE);
+        picker.setI18n(createFinnishI18n());
+        ui.add(picker);
+        getPendingExpressions();
+
+        picker.setLocale(Locale.FRANCE);
+        picker.setI18n(createFinnishI18n());
+        assertTrue(getPendingExpressions().isEmpty());
+
+        picker.setLocale(Locale.GERMANY);
+        picker.setI18n(createFinnishI18n().setCancel("peru"));
+        List<String> expressions = getPendingExpressions();
+        assertEquals(1, count(expressions, "$connector.setLocale"));
+        assertEquals(1, count(expressions, "$connector.setRegisteredI18n"));
+    }
+
+    @Test
+    public void modifyI18nListInPlace_setAgain_i18nIsSent() {
+        DatePicker picker = new DatePicker();
+        picker.setI18n(createFinnishI18n());
+        ui.add(picker);
+        getPendingExpressions();
+
+        DatePickerI18n i18n = picker.getI18n();
+        i18n.getMonthNames().set(0, "tammi");
+        picker.setI18n(i18n);
+
+        List<String> expressions = getPendingExpressions();
+        assertEquals(1, count(expressions, ".registerI18n("));
+        assertEquals(1, count(expressions, "$connector.setRegisteredI18n"));
+        // The previous content isn't referred to anymore
+        assertEquals(1, count(expressions, ".unregisterI18n("));
+        assertTrue(i18n.toJson().contains("tammi\""));
+    }
+
+    @Test
+    public void detachAll_i18nIsUnregistered() {
+        ImmutableDatePickerI18n i18n = ImmutableDatePickerI18n
+                .copyOf(createFinnishI18n());
+        DatePicker picker1 = new DatePicker();
+        picker1.setI18n(i18n);
+        DatePicker picker2 = new DatePicker();
+        picker2.setI18n(i18n);
+        ui.add(picker1, picker2);
+        getPendingExpressions();
+
+        ui.remove(picker1);
+        assertEquals(0, count(getPendingExpressions(), ".unregisterI18n("));
+
+        ui.remove(picker2);
+        assertEquals(1, count(getPendingExpressions(), ".unregisterI18n("));
+
+        ui.add(picker1);
+        assertEquals(1, count(getPendingExpressions(), ".registerI18n("));
+    }
+
+    @Test
+    public void detachAndReattach_localeAndI18nAreSentAgain() {
+        DatePicker picker = new DatePicker(LocalDate.of(2018, 4, 25),
+                Locale.FRANCE);
+        picker.setI18n(createFinnishI18n());
+        ui.add(picker);
+        getPendingExpressions();
+
+        ui.remove(picker);
+        getPendingExpressions();
+        ui.add(picker);
+        picker.setLocale(Locale.FRANCE);
+
+        ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
+        List<PendingJavaScriptInvocation> invocations = ui.getInternals()
+                .dumpPendingJavaScriptInvocations();
+        assertEquals(1, invocations.size());
+        JsonArray configurations = (JsonArray) invocations.get(0)
+                .getInvocation().getParameters().get(1);
+        assertEquals("fr-FR",
+                configurations.getObject(0).getString("locale"));
+        assertTrue(configurations.getObject(0).hasKey("i18n"));
+    }
+
+    @Test
+    public void toLanguageTag_isCached() {
+        Locale locale = new Locale("fi", "FI");
+        String languageTag = DatePicker.toLanguageTag(locale);
+        assertEquals("fi-FI", languageTag);
+        Assert.assertSame(languageTag,
+                DatePicker.toLanguageTag(new Locale("fi", "FI")));
+    }
+
+    @Test
+    public void toLanguageTag_illFormedLocale_variantIsDropped() {
+        assertEquals("en-US",
+                DatePicker.toLanguageTag(new Locale("en", "US", "WIN")));
+        assertEquals("en",
+                DatePicker.toLanguageTag(new Locale("en", "", "WIN")));
+    }
+
+    @Test
+    public void i18n_toJson_cachedUntilSetterIsCalled() {
+        DatePickerI18n i18n = createFinnishI18n();
+
+        String json = i18n.toJson();
+        Assert.assertSame(json, i18n.toJson());
+
+        i18n.setCancel("peru");
+        Assert.assertNotSame(json, i18n.toJson());
+        assertTrue(i18n.toJson().contains("\"peru\""));
+    }
+
+    @Test
+    public void attach_clientValidationIsDisabledWithoutRoundTrip() {
+        DatePicker picker = new DatePicker();
+        picker.setInvalid(true);
+
+        ui.add(picker);
+
+        List<String> expressions = getPendingExpressions();
+        assertEquals(1, count(expressions, "initLazy"));
+        assertEquals(0, count(expressions, "this.validate"));
+    }
+
+    @Test
+    public void parseAndFormat_sameAsLocalDate() {
+        for (LocalDate date : Arrays.asList(LocalDate.of(2018, 4, 25),
+                LocalDate.of(2020, 2, 29), LocalDate.of(1, 1, 1),
+                LocalDate.of(9999, 12, 31), LocalDate.of(10000, 1, 1),
+                LocalDate.of(-1, 6, 15))) {
+            assertEquals(date.toString(), DatePicker.FORMATTER.apply(date));
+            assertEquals(date, DatePicker.PARSER.apply(date.toString()));
+        }
+        assertEquals("", DatePicker.FORMATTER.apply(null));
+        assertNull(DatePicker.PARSER.apply(""));
+    }
+
+    @Test
+    public void isoDateCodec_invalidInput_rejectedWithoutException() {
+        for (String text : Arrays.asList(null, "", "2019-02-29", "2019-13-01",
+                "2019-04-31", "2019-01-00", "2019/01/01", "2019-1-01",
+                "+2019-01-01", "20x9-01-01")) {
+            assertEquals(IsoDateCodec.INVALID,
+                    IsoDateCodec.parseEpochDay(text));
+            assertNull(IsoDateCodec.parse(text));
+        }
+    }
+
+    @Test(expected = DateTimeParseException.class)
+    public void parse_invalidValue_throwsDateTimeParseException() {
+        DatePicker.PARSER.apply("2019-02-29");
+    }
+
+    @Test
+    public void setDateEnabledProvider_disabledValueIsInvalid() {
+        DatePicker picker = new DatePicker();
+        AtomicInteger calls = new AtomicInteger();
+        picker.setDateEnabledProvider(date -> {
+            calls.incrementAndGet();
+            return date.getDayOfWeek() != DayOfWeek.SATURDAY
+                    && date.getDayOfWeek() != DayOfWeek.SUNDAY;
+        });
+
+        picker.setValue(LocalDate.of(2019, 4, 13));
+        assertTrue(picker.isInvalid());
+        picker.setValue(LocalDate.of(2019, 4, 15));
+        assertFalse(picker.isInvalid());
+        assertEquals(365, calls.get());
+
+        picker.refreshEnabledDates();
+        picker.setValue(LocalDate.of(2019, 4, 14));
+        assertTrue(picker.isInvalid());
+        assertEquals(730, calls.get());
+
+        picker.setDateEnabledProvider(null);
+        picker.setValue(LocalDate.of(2019, 4, 13));
+        assertFalse(picker.isInvalid());
+    }
+
+    @Test
+    public void setDateEnabledProvider_open_rangesOfShownMonthsAreSent() {
+        DatePicker picker = new DatePicker(LocalDate.of(2019, 4, 10));
+        picker.setDateEnabledProvider(
+                date -> date.getDayOfWeek() != DayOfWeek.SUNDAY);
+        ui.add(picker);
+        getPendingExpressions();
+
+        picker.open();
+        ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
+        List<PendingJavaScriptInvocation> invocations = ui.getInternals()
+                .dumpPendingJavaScriptInvocations();
+        assertEquals(1, invocations.size());
+        assertTrue(invocations.get(0).getInvocation().getExpression()
+                .contains("$connector.setDisabledRanges"));
+        JsonObject ranges = (JsonObject) invocations.get(0).getInvocation()
+                .getParameters().get(1);
+        assertEquals(3, ranges.keys().length);
+        assertTrue(ranges.hasKey("2019-03"));
+        assertTrue(ranges.hasKey("2019-05"));
+        JsonArray april = ranges.getArray("2019-04");
+        assertEquals(8, april.length());
+        assertEquals(LocalDate.of(2019, 4, 7).toEpochDay(),
+                (long) april.getNumber(0));
+
+        // Already sent months are not sent again
+        picker.close();
+        picker.open();
+        assertEquals(0, count(getPendingExpressions(), "setDisabledRanges"));
+    }
+
+    @Test
+    public void setDateEnabledProvider_scrollToMonth_rangesAroundItAreSent() {
+        DatePicker picker = new DatePicker(LocalDate.of(2019, 4, 10));
+        picker.setDateEnabledProvider(
+                date -> date.getDayOfWeek() != DayOfWeek.SUNDAY);
+        ui.add(picker);
+        picker.open();
+        getPendingExpressions();
+
+        fireVisibleMonthChanged(picker, "2019-09");
+        ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
+        List<PendingJavaScriptInvocation> invocations = ui.getInternals()
+                .dumpPendingJavaScriptInvocations();
+        assertEquals(1, invocations.size());
+        JsonObject ranges = (JsonObject) invocations.get(0).getInvocation()
+                .getParameters().get(1);
+        assertEquals(3, ranges.keys().length);
+        assertTrue(ranges.hasKey("2019-08"));
+        assertTrue(ranges.hasKey("2019-10"));
+
+        // Only the months not sent yet are sent
+        fireVisibleMonthChanged(picker, "2019-10");
+        invocations = dumpInvocations("setDisabledRanges");
+        assertEquals(1, invocations.size());
+        ranges = (JsonObject) invocations.get(0).getInvocation()
+                .getParameters().get(1);
+        assertEquals(1, ranges.keys().length);
+        assertTrue(ranges.hasKey("2019-11"));
+
+        // Malformed months from the client are ignored
+        fireVisibleMonthChanged(picker, "2019-13");
+        assertEquals(0, count(getPendingExpressions(), "setDisabledRanges"));
+    }
+
+    @Test
+    public void setDateEnabledProvider_scrollOutOfRange_monthIsClamped() {
+        DatePicker picker = new DatePicker(LocalDate.of(2019, 4, 10));
+        picker.setMax(LocalDate.of(2019, 6, 15));
+        List<Integer> evaluatedYears = new ArrayList<>();
+        picker.setDateEnabledProvider(date -> {
+            if (date.getDayOfYear() == 1) {
+                evaluatedYears.add(date.getYear());
+            }
+            return true;
+        });
+        ui.add(picker);
+        picker.open();
+        getPendingExpressions();
+
+        // Months past the maximum are limited to the month of the maximum
+        fireVisibleMonthChanged(picker, "3019-09");
+        List<PendingJavaScriptInvocation> invocations = dumpInvocations(
+                "setDisabledRanges");
+        assertEquals(1, invocations.size());
+        JsonObject ranges = (JsonObject) invocations.get(0).getInvocation()
+                .getParameters().get(1);
+        assertEquals(1, ranges.keys().length);
+        assertTrue(ranges.hasKey("2019-06"));
+        assertEquals(Collections.singletonList(2019), evaluatedYears);
+
+        // The last supported month doesn't break the response
+        picker.setMax(null);
+        fireVisibleMonthChanged(picker, "999999999-12");
+        invocations = dumpInvocations("setDisabledRanges");
+        assertEquals(1, invocations.size());
+        ranges = (JsonObject) invocations.get(0).getInvocation()
+                .getParameters().get(1);
+        assertEquals(2, ranges.keys().length);
+    }
+
+    @Test
+    public void disabledDateIndex_onlyRecentYearsAreKept() {
+        AtomicInteger evaluations = new AtomicInteger();
+        DisabledDateIndex index = new DisabledDateIndex(date -> {
+            evaluations.incrementAndGet();
+            return true;
+        });
+        for (int year = 2000; year <= 2000 + DisabledDateIndex.CACHE_SIZE;
+                year++) {
+            index.isDisabled(LocalDate.of(year, 1, 1));
+        }
+        int evaluated = evaluations.get();
+
+        // The most recently used years are still indexed
+        index.isDisabled(LocalDate.of(2000 + DisabledDateIndex.CACHE_SIZE,
+                6, 1));
+        assertEquals(evaluated, evaluations.get());
+        // The first year has been evicted and is evaluated again
+        index.isDisabled(LocalDate.of(2000, 6, 1));
+        assertEquals(evaluated + 366, evaluations.get());
+    }
+
+    @Test
+    public void disabledDateIndex_consecutiveDaysAreMergedIntoRanges() {
+        DisabledDateIndex index = new DisabledDateIndex(
+                date -> date.getDayOfMonth() < 10 || date.getDayOfMonth() > 12);
+        JsonArray ranges = index.getDisabledRanges(YearMonth.of(2020, 2));
+        assertEquals(2, ranges.length());
+        assertEquals(LocalDate.of(2020, 2, 10).toEpochDay(),
+                (long) ranges.getNumber(0));
+        assertEquals(LocalDate.of(2020, 2, 12).toEpochDay(),
+                (long) ranges.getNumber(1));
+        assertTrue(index.isDisabled(LocalDate.of(2020, 12, 11)));
+        assertFalse(index.isDisabled(LocalDate.of(2020, 12, 31)));
+    }
+
+    @Test
+    public void setDayMetadataProvider_open_onlyShownMonthsAreFetched() {
+        DatePicker picker = new DatePicker(LocalDate.of(2019, 4, 10));
+        List<YearMonth> fetched = new ArrayList<>();
+        picker.setDayMetadataProvider(month -> {
+            fetched.add(month);
+            return Collections.singletonMap(month.atDay(1), "€" + month);
+        });
+        ui.add(picker);
+        getPendingExpressions();
+        assertTrue(fetched.isEmpty());
+
+        picker.open();
+        ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
+        List<PendingJavaScriptInvocation> invocations = ui.getInternals()
+                .dumpPendingJavaScriptInvocations();
+        assertEquals(1, invocations.size());
+        assertTrue(invocations.get(0).getInvocation().getExpression()
+                .contains("$connector.setDayMetadata"));
+        JsonObject days = (JsonObject) invocations.get(0).getInvocation()
+                .getParameters().get(1);
+        assertEquals("€2019-04", days.getString("2019-04-01"));
+        assertEquals(3, days.keys().length);
+        assertEquals(Arrays.asList(YearMonth.of(2019, 3),
+                YearMonth.of(2019, 4), YearMonth.of(2019, 5)), fetched);
+
+        // Cached months are not fetched or sent again
+        picker.close();
+        picker.setValue(LocalDate.of(2019, 5, 10));
+        picker.open();
+        assertEquals(1, count(getPendingExpressions(), "setDayMetadata"));
+        assertEquals(4, fetched.size());
+        assertEquals(YearMonth.of(2019, 6), fetched.get(3));
+    }
+
+    @Test
+    public void dayMetadataCache_leastRecentlyUsedMonthIsEvicted() {
+        List<YearMonth> fetched = new ArrayList<>();
+        DayMetadataCache cache = new DayMetadataCache(month -> {
+            fetched.add(month);
+            return Collections.emptyMap();
+        });
+        YearMonth first = YearMonth.of(2019, 1);
+        for (int i = 0; i <= DayMetadataCache.CACHE_SIZE; i++) {
+            cache.get(first.plusMonths(i));
+            // Keep the first month as the most recently used one
+            cache.get(first);
+        }
+        assertEquals(DayMetadataCache.CACHE_SIZE + 1, fetched.size());
+
+        cache.get(first);
+        cache.get(first.plusMonths(1));
+        assertEquals(DayMetadataCache.CACHE_SIZE + 2, fetched.size());
+    }
+
+    @Test
+    public void setAsyncValidator_valueChangedAgain_supersededCheckIsCancelled() {
+        setSessionRunningAccessImmediately();
+        List<CompletableFuture<ValidationResult>> checks = new ArrayList<>();
+        DatePicker picker = new DatePicker();
+        picker.setAsyncValidator(value -> {
+            CompletableFuture<ValidationResult> check = new CompletableFuture<>();
+            checks.add(check);
+            return check;
+        });
+        ui.add(picker);
+
+        picker.setValue(LocalDate.of(2019, 4, 13));
+        picker.setValue(LocalDate.of(2019, 4, 14));
+        assertEquals(2, checks.size());
+        assertTrue(checks.get(0).isCancelled());
+        assertFalse(checks.get(1).isDone());
+
+        checks.get(1).complete(ValidationResult.error("Fully booked"));
+        assertTrue(picker.isInvalid());
+        assertEquals("Fully booked", picker.getErrorMessage());
+
+        picker.setValue(LocalDate.of(2019, 4, 15));
+        checks.get(2).complete(ValidationResult.ok());
+        assertFalse(picker.isInvalid());
+        assertEquals("", picker.getErrorMessage());
+    }
+
+    @Test
+    public void setAsyncValidator_checkFails_failureMessageIsShown() {
+        setSessionRunningAccessImmediately();
+        List<CompletableFuture<ValidationResult>> checks = new ArrayList<>();
+        DatePicker picker = new DatePicker();
+        picker.setAsyncValidationFailureMessage("Try again later");
+        picker.setAsyncValidator(value -> {
+            CompletableFuture<ValidationResult> check = new CompletableFuture<>();
+            checks.add(check);
+            return check;
+        });
+        ui.add(picker);
+
+        picker.setValue(LocalDate.of(2019, 4, 13));
+        checks.get(0).completeExceptionally(new IllegalStateException());
+        assertTrue(picker.isInvalid());
+        assertEquals("Try again later", picker.getErrorMessage());
+
+        picker.setValue(LocalDate.of(2019, 4, 14));
+        checks.get(1).complete(ValidationResult.ok());
+        assertFalse(picker.isInvalid());
+        assertEquals("", picker.getErrorMessage());
+    }
+
+    @Test
+    public void setAsyncValidator_valueSetBeforeAttach_checkedOnAttach() {
+        setSessionRunningAccessImmediately();
+        List<LocalDate> checked = new ArrayList<>();
+        DatePicker picker = new DatePicker(LocalDate.of(2019, 4, 13));
+        picker.setAsyncValidator(value -> {
+            checked.add(value);
+            return CompletableFuture
+                    .completedFuture(ValidationResult.error("Fully booked"));
+        });
+        assertTrue(checked.isEmpty());
+
+        ui.add(picker);
+        assertEquals(Collections.singletonList(LocalDate.of(2019, 4, 13)),
+                checked);
+        assertTrue(picker.isInvalid());
+        assertEquals("Fully booked", picker.getErrorMessage());
+    }
+
+    @Test
+    public void setAsyncValidator_reattach_onlyChangedValueIsChecked() {
+        setSessionRunningAccessImmediately();
+        List<LocalDate> checked = new ArrayList<>();
+        DatePicker picker = new DatePicker();
+        picker.setAsyncValidator(value -> {
+            checked.add(value);
+            return CompletableFuture.completedFuture(ValidationResult.ok());
+        });
+        ui.add(picker);
+        picker.setValue(LocalDate.of(2019, 4, 13));
+        assertEquals(1, checked.size());
+
+        // Moving the date picker doesn't repeat the check
+        ui.remove(picker);
+        ui.add(picker);
+        assertEquals(1, checked.size());
+
+        ui.remove(picker);
+        picker.setValue(LocalDate.of(2019, 4, 14));
+        assertEquals(1, checked.size());
+        ui.add(picker);
+        assertEquals(Arrays.asList(LocalDate.of(2019, 4, 13),
+                LocalDate.of(2019, 4, 14)), checked);
+    }
+
+    @Test
+    public void setAsyncValidator_invalidOrEmptyValue_validatorIsNotCalled() {
+        setSessionRunningAccessImmediately();
+        AtomicInteger calls = new AtomicInteger();
+        DatePicker picker = new DatePicker();
+        picker.setMax(LocalDate.of(2019, 1, 1));
+        picker.setAsyncValidator(value -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture(ValidationResult.ok());
+        });
+        ui.add(picker);
+
+        picker.setValue(LocalDate.of(2019, 4, 13));
+        picker.setValue(null);
+        assertEquals(0, calls.get());
+
+        picker.setValue(LocalDate.of(2018, 4, 13));
+        assertEquals(1, calls.get());
+        assertFalse(picker.isInvalid());
+    }
+
+    @Test
+    public void setAsyncValidationTimeout_checkTimesOut_valueIsInvalid()
+            throws InterruptedException {
+        setSessionRunningAccessImmediately();
+        ScheduledExecutorService scheduler = Executors
+                .newSingleThreadScheduledExecutor();
+        try {
+            DatePicker picker = new DatePicker();
+            picker.setAsyncValidationTimeout(Duration.ofMillis(10), scheduler);
+            picker.setAsyncValidationFailureMessage("Timed out");
+            CompletableFuture<ValidationResult> source = new CompletableFuture<>();
+            picker.setAsyncValidator(value -> source);
+            ui.add(picker);
+
+            picker.setValue(LocalDate.of(2019, 4, 13));
+            for (int i = 0; i < 200 && !source.isCancelled(); i++) {
+                Thread.sleep(10);
+            }
+            // The source is cancelled after the timeout has been applied
+            assertTrue(source.isCancelled());
+            assertTrue(picker.isInvalid());
+            assertEquals("Timed out", picker.getErrorMessage());
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    public void setDayMetadataProvider_scrollToMonth_monthsAroundItAreFetched() {
+        DatePicker picker = new DatePicker(LocalDate.of(2019, 4, 10));
+        List<YearMonth> fetched = new ArrayList<>();
+        picker.setDayMetadataProvider(month -> {
+            fetched.add(month);
+            return Collections.singletonMap(month.atDay(1), "€" + month);
+        });
+        ui.add(picker);
+        picker.open();
+        getPendingExpressions();
+        fetched.clear();
+
+        fireVisibleMonthChanged(picker, "2020-01");
+        List<PendingJavaScriptInvocation> invocations = dumpInvocations(
+                "setDayMetadata");
+        assertEquals(1, invocations.size());
+        JsonObject days = (JsonObject) invocations.get(0).getInvocation()
+                .getParameters().get(1);
+        assertEquals("€2020-01", days.getString("2020-01-01"));
+        assertEquals(Arrays.asList(YearMonth.of(2019, 12),
+                YearMonth.of(2020, 1), YearMonth.of(2020, 2)), fetched);
+
+        // Reopening starts from the selected date again
+        picker.close();
+        picker.open();
+        assertEquals(0, count(getPendingExpressions(), "setDayMetadata"));
+        assertEquals(3, fetched.size());
+    }
+
+    @Test
+    public void setValueChangeMode_modeAndTimeoutAreRetained() {
+        DatePicker picker = new DatePicker();
+        assertEquals(ValueChangeMode.EAGER, picker.getValueChangeMode());
+        assertEquals(HasValueChangeMode.DEFAULT_CHANGE_TIMEOUT,
+                picker.getValueChangeTimeout());
+
+        picker.setValueChangeMode(ValueChangeMode.ON_BLUR);
+        picker.setValueChangeTimeout(1000);
+        assertEquals(ValueChangeMode.ON_BLUR, picker.getValueChangeMode());
+        assertEquals(1000, picker.getValueChangeTimeout());
+    }
+
+    @Test
+    public void addOpenedChangeListener_removeRegistration_listenerNotCalled() {
+        DatePicker picker = new DatePicker();
+        List<Boolean> events = new ArrayList<>();
+        Registration registration = picker
+                .addOpenedChangeListener(e -> events.add(e.isOpened()));
+
+        picker.open();
+        picker.close();
+        assertEquals(Arrays.asList(true, false), events);
+
+        registration.remove();
+        picker.open();
+        assertEquals(2, events.size());
+    }
+
+    @Test
+    public void open_closeInClient_openAgain_openedIsSynchronized() {
+        DatePicker picker = new DatePicker();
+        ui.add(picker);
+
+        picker.open();
+        assertTrue(picker.isOpened());
+        updateOpenedFromClient(picker, false);
+        assertFalse(picker.isOpened());
+
+        picker.open();
+        assertTrue(picker.isOpened());
+        updateOpenedFromClient(picker, false);
+        assertFalse(picker.isOpened());
+
+        picker.setOpened(true);
+        assertTrue(picker.isOpened());
+    }
+
+    @Test
+    public void noListeners_openInClient_openedIsNotSynchronized() {
+        DatePicker picker = new DatePicker();
+        ui.add(picker);
+
+        updateOpenedFromClient(picker, true);
+        assertFalse(picker.isOpened());
+    }
+
+    @Test
+    public void dateCellRenderer_isoDateAndLocaleInTemplate() {
+        DateCellRenderer<LocalDate> renderer = new DateCellRenderer<>(
+                date -> date, Locale.FRANCE);
+        assertTrue(renderer.getTemplate().contains("locale=\"fr-FR\""));
+        assertEquals(1, renderer.getValueProviders().size());
+        assertEquals("2018-04-25", renderer.getValueProviders().values()
+                .iterator().next().apply(LocalDate.of(2018, 4, 25)));
+        assertEquals("", renderer.getValueProviders().values().iterator()
+                .next().apply(null));
+    }
+
+    @Test
+    public void createInParallelWithoutUI_localeResolvedOnAttach()
+            throws InterruptedException, ExecutionException {
+        int count = 4000;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<DatePicker>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < count; i++) {
+                LocalDate value = LocalDate.of(2018, 4, 25).plusDays(i);
+                boolean french = i % 2 == 0;
+                futures.add(executor.submit(() -> {
+                    Assert.assertNull(UI.getCurrent());
+                    DatePicker picker = new DatePicker(value);
+                    picker.setMin(LocalDate.of(2018, 1, 1));
+                    if (french) {
+                        picker.setLocale(Locale.FRANCE);
+                    }
+                    return picker;
+                }));
+            }
+            List<DatePicker> pickers = new ArrayList<>();
+            for (Future<DatePicker> future : futures) {
+                pickers.add(future.get());
+            }
+
+            ui.setLocale(Locale.GERMANY);
+            ui.add(pickers.toArray(new DatePicker[count]));
+            ui.getInternals().getStateTree()
+                    .runExecutionsBeforeClientResponse();
+            List<PendingJavaScriptInvocation> invocations = ui.getInternals()
+                    .dumpPendingJavaScriptInvocations();
+            assertEquals(1, invocations.size());
+            JsonArray configurations = (JsonArray) invocations.get(0)
+                    .getInvocation().getParameters().get(count);
+            assertEquals(count, configurations.length());
+            assertEquals("fr-FR",
+                    configurations.getObject(0).getString("locale"));
+            assertEquals("de-DE",
+                    configurations.getObject(1).getString("locale"));
+            assertEquals(Locale.GERMANY, pickers.get(1).getLocale());
+            // Also in a worker thread, where there is no current UI
+            assertEquals(Locale.GERMANY,
+                    executor.submit(() -> pickers.get(1).getLocale()).get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void setConfiguration_settingsAreSharedByDatePickers() {
+        DatePickerI18n i18n = createFinnishI18n();
+        DatePickerConfiguration configuration = DatePickerConfiguration
+                .builder().setLocale(Locale.FRANCE)
+                .setMin(LocalDate.of(2018, 1, 1))
+                .setMax(LocalDate.of(2018, 12, 31)).setRequired(true)
+                .setI18n(i18n).build();
+        i18n.setCancel("peru");
+
+        DatePicker picker1 = new DatePicker();
+        DatePicker picker2 = new DatePicker();
+        picker1.setConfiguration(configuration);
+        picker2.setConfiguration(configuration);
+
+        assertEquals(Locale.FRANCE, picker1.getLocale());
+        assertEquals("fr-FR", configuration.getLanguageTag());
+        ui.add(picker1);
+        assertEquals("fr-FR",
+                picker1.createConnectorConfiguration(ui).getString("locale"));
+        assertEquals(LocalDate.of(2018, 1, 1), picker1.getMin());
+        assertEquals("2018-12-31", picker1.getElement().getProperty("max"));
+        assertTrue(picker1.getElement().getProperty("required", false));
+        Assert.assertSame(picker1.getImmutableI18n(),
+                picker2.getImmutableI18n());
+        assertEquals("peruuta", picker1.getI18n().getCancel());
+
+        picker1.setValue(LocalDate.of(2019, 1, 1));
+        assertTrue(picker1.isInvalid());
+    }
+
+    @Test
+    public void setConfiguration_unsetLocaleAndI18nAreLeftUnchanged() {
+        DatePicker picker = new DatePicker();
+        picker.setConfiguration(DatePickerConfiguration.builder()
+                .setLocale(Locale.FRANCE).setMin(LocalDate.of(2018, 1, 1))
+                .setRequired(true).setI18n(createFinnishI18n()).build());
+        ImmutableDatePickerI18n i18n = picker.getImmutableI18n();
+
+        picker.setConfiguration(DatePickerConfiguration.builder().build());
+
+        assertEquals(Locale.FRANCE, picker.getLocale());
+        Assert.assertSame(i18n, picker.getImmutableI18n());
+        assertNull(picker.getMin());
+        assertFalse(picker.isRequired());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void configuration_i18nListsAreUnmodifiable() {
+        DatePickerConfiguration.builder().setI18n(createFinnishI18n()).build()
+                .getI18n().getMonthNames().set(0, "tammi");
+    }
+
+    @Test
+    public void immutableI18n_copiesAreEqualAndDetached() {
+        DatePickerI18n i18n = createFinnishI18n();
+        ImmutableDatePickerI18n copy1 = ImmutableDatePickerI18n.copyOf(i18n);
+        ImmutableDatePickerI18n copy2 = ImmutableDatePickerI18n.copyOf(i18n);
+        i18n.setCancel("peru");
+
+        assertEquals(copy1, copy2);
+        assertEquals(copy1.hashCode(), copy2.hashCode());
+        assertEquals("peruuta", copy1.getCancel());
+        Assert.assertNotEquals(copy1, ImmutableDatePickerI18n.copyOf(i18n));
+        assertEquals(copy1,
+                ImmutableDatePickerI18n.copyOf(copy1.toDatePickerI18n()));
+        assertEquals(createFinnishI18n().toJson(), copy1.toJson());
+    }
+
+    @Test
+    public void setImmutableI18n_getI18nReturnsMutableCopy() {
+        ImmutableDatePickerI18n immutable = ImmutableDatePickerI18n
+                .copyOf(createFinnishI18n());
+        DatePicker picker = new DatePicker();
+        picker.setI18n(immutable);
+
+        DatePickerI18n copy = picker.getI18n();
+        copy.setCancel("peru");
+        copy.getMonthNames().set(0, "tammi");
+        assertEquals("peruuta", immutable.getCancel());
+        assertEquals("tammikuu", immutable.getMonthNames().get(0));
+        Assert.assertSame(immutable, picker.getImmutableI18n());
+
+        picker.setI18n(copy);
+        Assert.assertSame(copy, picker.getI18n());
+        assertNull(picker.getImmutableI18n());
+    }
+
+    @Test
+    public void forLocale_namesAndFirstDayOfWeekFromLocaleData() {
+        ImmutableDatePickerI18n english = ImmutableDatePickerI18n
+                .forLocale(Locale.US);
+        assertEquals(12, english.getMonthNames().size());
+        assertEquals("January", english.getMonthNames().get(0));
+        assertEquals("Sunday", english.getWeekdays().get(0));
+        assertEquals("Sat", english.getWeekdaysShort().get(6));
+        assertEquals(0, english.getFirstDayOfWeek());
+        assertEquals("Cancel", english.getCancel());
+
+        ImmutableDatePickerI18n german = ImmutableDatePickerI18n
+                .forLocale(Locale.GERMANY);
+        assertEquals("Dezember", german.getMonthNames().get(11));
+        assertEquals("Sonntag", german.getWeekdays().get(0));
+        assertEquals(1, german.getFirstDayOfWeek());
+    }
+
+    @Test
+    public void forLocale_computedOncePerLocale() {
+        Locale finnish = new Locale("fi", "FI");
+        ImmutableDatePickerI18n i18n = ImmutableDatePickerI18n
+                .forLocale(finnish);
+        Assert.assertSame(i18n,
+                ImmutableDatePickerI18n.forLocale(new Locale("fi", "FI")));
+        assertEquals(i18n, ImmutableDatePickerI18n.createForLocale(finnish));
+
+        ImmutableDatePickerI18n translated = i18n.toBuilder()
+                .setCancel("peruuta").build();
+        assertEquals("peruuta", translated.getCancel());
+        assertEquals(i18n.getMonthNames(), translated.getMonthNames());
+        assertEquals("Cancel", i18n.getCancel());
+    }
+
+    @Test
+    public void setImmutableI18n_attachSeveral_i18nIsRegisteredOncePerUI() {
+        DatePicker picker1 = new DatePicker();
+        picker1.setI18n(ImmutableDatePickerI18n.copyOf(createFinnishI18n()));
+        DatePicker picker2 = new DatePicker();
+        picker2.setI18n(ImmutableDatePickerI18n.copyOf(createFinnishI18n()));
+        DatePicker picker3 = new DatePicker();
+        picker3.setI18n(createFinnishI18n());
+
+        ui.add(picker1, picker2, picker3);
+
+        List<String> expressions = getPendingExpressions();
+        assertEquals(1, count(expressions, ".registerI18n("));
+    }
+
+    private static DatePickerI18n createFinnishI18n() {
+        return new DatePickerI18n()
+                .setMonthNames(Arrays.asList("tammikuu", "helmikuu",
+                        "maaliskuu", "huhtikuu", "toukokuu", "kesäkuu",
+                        "heinäkuu", "elokuu", "syyskuu", "lokakuu",
+                        "marraskuu", "joulukuu"))
+                .setWeekdays(Arrays.asList("sunnuntai", "maanantai",
+                        "tiistai", "keskiviikko", "torstai", "perjantai",
+                        "lauantai"))
+                .setWeekdaysShort(Arrays.asList("su", "ma", "ti", "ke", "to",
+                        "pe", "la"))
+                .setFirstDayOfWeek(1).setWeek("viikko")
+                .setCalendar("kalenteri").setClear("tyhjennä")
+                .setToday("tänään").setCancel("peruuta");
+    }
+
+    private void setSessionRunningAccessImmediately() {
+        VaadinSession session = Mockito.mock(VaadinSession.class);
+        Mockito.when(session.access(Mockito.any(Command.class)))
+                .thenAnswer(invocation -> {
+                    ((Command) invocation.getArguments()[0]).execute();
+                    return null;
+                });
+        ui.getInternals().setSession(session);
+    }
+
+    private List<String> getPendingExpressions() {
+        ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
+        return ui.getInternals().dumpPendingJavaScriptInvocations().stream()
+                .map(invocation -> invocation.getInvocation().getExpression())
+                .collect(Collectors.toList());
+    }
+
+    private List<PendingJavaScriptInvocation> dumpInvocations(String part) {
+        ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
+        return ui.getInternals().dumpPendingJavaScriptInvocations().stream()
+                .filter(invocation -> invocation.getInvocation()
+                        .getExpression().contains(part))
+                .collect(Collectors.toList());
+    }
+
+    private static void updateOpenedFromClient(DatePicker picker,
+            boolean opened) {
+        ElementPropertyMap properties = picker.getElement().getNode()
+                .getFeature(ElementPropertyMap.class);
+        try {
+            properties.deferredUpdateFromClient("opened", opened).run();
+        } catch (PropertyChangeDeniedException e) {
+            // Not synchronized, the update is ignored like in a real request
+        }
+    }
+
+    private static void fireVisibleMonthChanged(DatePicker picker,
+            String month) {
+        JsonObject eventData = Json.createObject();
+        eventData.put("event.detail.month", month);
+        picker.getElement().getNode().getFeature(ElementListenerMap.class)
+                .fireEvent(new DomEvent(picker.getElement(),
+                        "visible-month-changed", eventData));
+    }
+
+    private static long count(List<String> expressions, String part) {
+        return expressions.stream()
+                .filter(expression -> expression.contains(part)).count();
+    }
+
     public void assertClearButtonPropertyValueEquals(DatePicker picker,
             Boolean value) {
         picker.setClearButtonVisible(value);
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2000-2019 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.component.datepicker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+
+import net.jcip.annotations.NotThreadSafe;
+
+@NotThreadSafe
+public class LazyDatePickerTest {
+
+    private UI ui;
+
+    @Before
+    public void setUp() {
+        ui = new UI();
+        UI.setCurrent(ui);
+    }
+
+    @After
+    public void tearDown() {
+        UI.setCurrent(null);
+    }
+
+    @Test
+    public void readOnlyByDefault_valueIsShownAsText() {
+        LazyDatePicker field = new LazyDatePicker();
+        field.setValue(LocalDate.of(2018, 4, 25));
+
+        assertTrue(field.isReadOnly());
+        assertFalse(field.isDatePickerCreated());
+        Element text = field.getTextElement();
+        assertEquals("flow-date-picker-text", text.getTag());
+        assertEquals("2018-04-25", text.getProperty("value"));
+    }
+
+    @Test
+    public void attach_localeAndValueSetAsProperties_noInvocations() {
+        LazyDatePicker field1 = new LazyDatePicker();
+        field1.setValue(LocalDate.of(2018, 4, 25));
+        LazyDatePicker field2 = new LazyDatePicker();
+        field2.setLocale(Locale.FRANCE);
+        field2.setValue(LocalDate.of(2019, 12, 24));
+        ui.setLocale(Locale.GERMANY);
+        ui.add(field1, field2);
+
+        assertEquals("de-DE", field1.getTextElement().getProperty("locale"));
+        assertEquals("fr-FR", field2.getTextElement().getProperty("locale"));
+        assertEquals("2019-12-24",
+                field2.getTextElement().getProperty("value"));
+
+        ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
+        assertTrue(ui.getInternals().dumpPendingJavaScriptInvocations()
+                .isEmpty());
+    }
+
+    @Test
+    public void clearValue_textIsCleared() {
+        LazyDatePicker field = new LazyDatePicker();
+        ui.add(field);
+        field.setValue(LocalDate.of(2018, 4, 25));
+        field.setValue(null);
+
+        assertEquals("", field.getTextElement().getProperty("value"));
+    }
+
+    @Test
+    public void setReadOnlyFalse_datePickerCreatedWithValueAndLocale() {
+        LazyDatePicker field = new LazyDatePicker("Birthday");
+        field.setLocale(Locale.FRANCE);
+        field.setValue(LocalDate.of(2018, 4, 25));
+        List<LocalDate> values = new ArrayList<>();
+        field.addValueChangeListener(event -> values.add(event.getValue()));
+
+        field.setReadOnly(false);
+        assertTrue(field.isDatePickerCreated());
+        DatePicker datePicker = (DatePicker) field.getChildren()
+                .flatMap(content -> content.getChildren()).findFirst().get();
+        assertEquals(LocalDate.of(2018, 4, 25), datePicker.getValue());
+        assertEquals(Locale.FRANCE, datePicker.getLocale());
+        assertEquals("Birthday", datePicker.getLabel());
+
+        datePicker.setValue(LocalDate.of(2019, 1, 1));
+        assertEquals(LocalDate.of(2019, 1, 1), field.getValue());
+        field.setValue(LocalDate.of(2020, 1, 1));
+        assertEquals(LocalDate.of(2020, 1, 1), datePicker.getValue());
+        assertEquals(2, values.size());
+
+        field.setReadOnly(true);
+        assertTrue(datePicker.isReadOnly());
+        assertTrue(field.isDatePickerCreated());
+    }
+}